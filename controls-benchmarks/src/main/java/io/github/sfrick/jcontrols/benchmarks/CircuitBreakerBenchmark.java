@@ -0,0 +1,86 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.CircuitBreaker;
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * A shared {@link CircuitBreaker} under contention from 64 threads, closed and
+ * open, compared to an unguarded {@link Try#of}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(64)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+
+  private CircuitBreaker closed;
+  private CircuitBreaker open;
+  private Integer value;
+
+  @Setup
+  public void setup() {
+    value = 1_000;
+    var config = CircuitBreaker.Config.defaults().withOpenDuration(Duration.ofDays(1));
+    closed = CircuitBreaker.of("closed", config);
+    open = CircuitBreaker.of("open", config);
+    for (int i = 0; i < config.minimumCalls(); i++) {
+      open.of(() -> {
+        throw new IllegalStateException("boom");
+      });
+    }
+  }
+
+  @Benchmark
+  public Try<Integer> unguarded() {
+    return Try.of(() -> value);
+  }
+
+  @Benchmark
+  public Try<Integer> closed() {
+    return closed.of(() -> value);
+  }
+
+  @Benchmark
+  public Try<Integer> open() {
+    return open.of(() -> value);
+  }
+}
@@ -0,0 +1,101 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Either;
+
+/**
+ * {@link Either#map}, {@link Either#flatMap} and {@link Either#mapF} compared
+ * to the same computation written with plain values and exceptions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class EitherBenchmark {
+
+  @Param({ "success", "failure" })
+  public String outcome;
+
+  private boolean fail;
+  private int value;
+  private Either<String, Integer> either;
+
+  @Setup
+  public void setup() {
+    fail = "failure".equals(outcome);
+    value = 42;
+    either = fail ? Either.failure("boom") : Either.success(value);
+  }
+
+  @Benchmark
+  public Either<String, Integer> map() {
+    return either.map(x -> x + 1);
+  }
+
+  @Benchmark
+  public Either<String, Integer> flatMap() {
+    return either.flatMap(x -> Either.success(x + 1));
+  }
+
+  @Benchmark
+  public Either<Integer, Integer> mapF() {
+    return either.mapF(String::length);
+  }
+
+  @Benchmark
+  public int plainValue() {
+    return fail ? -1 : value + 1;
+  }
+
+  @Benchmark
+  public int plainException() {
+    try {
+      return compute() + 1;
+    } catch (IllegalStateException e) {
+      return -1;
+    }
+  }
+
+  private int compute() {
+    if (fail) {
+      throw new IllegalStateException("boom");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,85 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * Expected failures built from a fresh exception compared to stackless ones
+ * from {@link Try#failureLite} and {@code filter(predicate, message)}, with a
+ * {@link Try#success} as the lower bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FailureBenchmark {
+
+  private String value;
+  private Try<String> attempt;
+
+  @Setup
+  public void setup() {
+    value = "value";
+    attempt = Try.success(value);
+  }
+
+  @Benchmark
+  public Try<String> success() {
+    return Try.success(value);
+  }
+
+  @Benchmark
+  public Try<String> failure() {
+    return Try.failure(new IllegalArgumentException("invalid"));
+  }
+
+  @Benchmark
+  public Try<String> failureLite() {
+    return Try.failureLite("invalid");
+  }
+
+  @Benchmark
+  public Try<String> filterWithSupplier() {
+    return attempt.filter(String::isEmpty, () -> new IllegalArgumentException("invalid"));
+  }
+
+  @Benchmark
+  public Try<String> filterWithMessage() {
+    return attempt.filter(String::isEmpty, "invalid");
+  }
+}
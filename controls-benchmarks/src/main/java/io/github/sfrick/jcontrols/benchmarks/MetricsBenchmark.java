@@ -0,0 +1,81 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.InMemoryTryMetrics;
+import io.github.sfrick.jcontrols.Try;
+import io.github.sfrick.jcontrols.TryMetrics;
+
+/**
+ * The cost of {@code Try.of(name, work)} over {@code Try.of(work)}, without a
+ * recorder and with the {@link InMemoryTryMetrics} recorder installed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+  @Param({ "none", "inMemory" })
+  public String recorder;
+
+  private int input = 1_000;
+
+  @Setup
+  public void setup() {
+    if ("inMemory".equals(recorder)) {
+      TryMetrics.install(new InMemoryTryMetrics());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    TryMetrics.uninstall();
+  }
+
+  @Benchmark
+  public Try<Integer> unnamed() {
+    return Try.of(() -> input + 1);
+  }
+
+  @Benchmark
+  public Try<Integer> named() {
+    return Try.of("benchmark", () -> input + 1);
+  }
+}
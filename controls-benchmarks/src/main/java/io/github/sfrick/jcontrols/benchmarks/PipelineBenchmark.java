@@ -0,0 +1,98 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Either;
+import io.github.sfrick.jcontrols.EitherPipeline;
+import io.github.sfrick.jcontrols.Try;
+import io.github.sfrick.jcontrols.TryPipeline;
+
+/**
+ * A chain written with {@link Try#map}/{@link Either#map} compared to the same
+ * chain as a prebuilt {@link TryPipeline}/{@link EitherPipeline}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+
+  private String input;
+  private TryPipeline<String, Integer> tryPipeline;
+  private EitherPipeline<String, String, Integer> eitherPipeline;
+
+  @Setup
+  public void setup() {
+    input = " 42 ";
+    tryPipeline = Try.<String>pipeline()
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .flatMap(i -> Try.success(i + 1))
+        .filter(i -> i > 0, "must be positive");
+    eitherPipeline = Either.<String, String>pipeline()
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .flatMap(i -> Either.success(i + 1));
+  }
+
+  @Benchmark
+  public Try<Integer> tryChain() {
+    return Try.success(input)
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .flatMap(i -> Try.success(i + 1))
+        .filter(i -> i > 0, "must be positive");
+  }
+
+  @Benchmark
+  public Try<Integer> tryPipeline() {
+    return tryPipeline.apply(input);
+  }
+
+  @Benchmark
+  public Either<String, Integer> eitherChain() {
+    return Either.<String, String>success(input)
+        .<String, String>map(String::trim)
+        .<String, Integer>map(Integer::parseInt)
+        .<String, Integer>flatMap(i -> Either.success(i + 1));
+  }
+
+  @Benchmark
+  public Either<String, Integer> eitherPipeline() {
+    return eitherPipeline.apply(input);
+  }
+}
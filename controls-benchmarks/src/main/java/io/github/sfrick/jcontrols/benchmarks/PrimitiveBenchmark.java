@@ -0,0 +1,101 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Either;
+import io.github.sfrick.jcontrols.IntEither;
+import io.github.sfrick.jcontrols.IntTry;
+import io.github.sfrick.jcontrols.LongTry;
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * Numeric chains on the boxed {@link Either}/{@link Try} compared to the
+ * primitive specializations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PrimitiveBenchmark {
+
+  private int value;
+
+  @Setup
+  public void setup() {
+    value = 1_000;
+  }
+
+  @Benchmark
+  public int boxedEither() {
+    return Either.<String, Integer>success(value)
+        .<String, Integer>map(i -> i * 3)
+        .<String, Integer>map(i -> i + 7)
+        .getOrDefault(-1);
+  }
+
+  @Benchmark
+  public int intEither() {
+    return IntEither.<String>success(value)
+        .map(i -> i * 3)
+        .map(i -> i + 7)
+        .getOrDefault(-1);
+  }
+
+  @Benchmark
+  public long boxedTry() {
+    return Try.of(() -> (long) value)
+        .map(l -> l * 3)
+        .map(l -> l + 7)
+        .orElse(-1L);
+  }
+
+  @Benchmark
+  public long longTry() {
+    return LongTry.of(() -> value)
+        .map(l -> l * 3)
+        .map(l -> l + 7)
+        .orElse(-1L);
+  }
+
+  @Benchmark
+  public int intTry() {
+    return IntTry.of(() -> value)
+        .map(i -> i * 3)
+        .map(i -> i + 7)
+        .orElse(-1);
+  }
+}
@@ -0,0 +1,101 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.sfrick.jcontrols.ResourcePool;
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * {@code Try.withPooled(...)} compared to {@code Try.withResource(...)} for a
+ * resource whose creation costs the given number of JMH CPU tokens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ResourcePoolBenchmark {
+
+  static final class Resource implements AutoCloseable {
+    private final int value;
+
+    Resource(int value, long creationCost) {
+      Blackhole.consumeCPU(creationCost);
+      this.value = value;
+    }
+
+    int value() {
+      return value;
+    }
+
+    @Override
+    public void close() {
+      // noOp
+    }
+  }
+
+  @Param({ "0", "1000" })
+  public long creationCost;
+
+  private ResourcePool<Resource> pool;
+
+  @Setup
+  public void setup() {
+    pool = ResourcePool.of("benchmark", this::open, ResourcePool.Config.defaults());
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.close();
+  }
+
+  private Resource open() {
+    return new Resource(1, creationCost);
+  }
+
+  @Benchmark
+  public Try<Integer> withResource() {
+    return Try.withResource(this::open).of(r -> r.value());
+  }
+
+  @Benchmark
+  public Try<Integer> withPooled() {
+    return Try.withPooled(pool).of(lease -> lease.get().value());
+  }
+}
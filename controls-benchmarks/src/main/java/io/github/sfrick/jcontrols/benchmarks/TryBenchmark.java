@@ -0,0 +1,111 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Either;
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * {@link Try#of}, {@link Try#map} and {@link Try#toEither} compared to a plain
+ * try/catch block around the same work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TryBenchmark {
+
+  @Param({ "success", "failure" })
+  public String outcome;
+
+  private boolean fail;
+  private int value;
+  private Try<Integer> attempt;
+
+  @Setup
+  public void setup() {
+    fail = "failure".equals(outcome);
+    value = 42;
+    attempt = Try.of(this::work);
+  }
+
+  @Benchmark
+  public Try<Integer> of() {
+    return Try.of(this::work);
+  }
+
+  @Benchmark
+  public Try<Integer> map() {
+    return attempt.map(x -> x + 1);
+  }
+
+  @Benchmark
+  public Try<Integer> ofThenMap() {
+    return Try.of(this::work).map(x -> x + 1);
+  }
+
+  @Benchmark
+  public Either<Throwable, Integer> toEither() {
+    return attempt.toEither();
+  }
+
+  @Benchmark
+  public Object plainTryCatch() {
+    try {
+      return work();
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object plainTryCatchThenMap() {
+    try {
+      return work() + 1;
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  private int work() throws Exception {
+    if (fail) {
+      throw new Exception("boom");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,181 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.sfrick.jcontrols.Try;
+
+/**
+ * {@code Try.withResource(...).of(...)} chains at arities 1 to 5 compared to
+ * the equivalent plain try-with-resources block.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class WithResourceBenchmark {
+
+  static final class Resource implements AutoCloseable {
+    private final int value;
+
+    Resource(int value) {
+      this.value = value;
+    }
+
+    int value() {
+      return value;
+    }
+
+    @Override
+    public void close() {
+      // noOp
+    }
+  }
+
+  @Param({ "success", "failure" })
+  public String outcome;
+
+  private boolean fail;
+
+  @Setup
+  public void setup() {
+    fail = "failure".equals(outcome);
+  }
+
+  private Resource open() {
+    return new Resource(1);
+  }
+
+  private int work(int sum) throws Exception {
+    if (fail) {
+      throw new Exception("boom");
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public Try<Integer> withResource1() {
+    return Try.withResource(this::open)
+        .of(r1 -> work(r1.value()));
+  }
+
+  @Benchmark
+  public Try<Integer> withResource2() {
+    return Try.withResource(this::open)
+        .withResource(this::open)
+        .of((r1, r2) -> work(r1.value() + r2.value()));
+  }
+
+  @Benchmark
+  public Try<Integer> withResource3() {
+    return Try.withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .of((r1, r2, r3) -> work(r1.value() + r2.value() + r3.value()));
+  }
+
+  @Benchmark
+  public Try<Integer> withResource4() {
+    return Try.withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .of((r1, r2, r3, r4) -> work(r1.value() + r2.value() + r3.value() + r4.value()));
+  }
+
+  @Benchmark
+  public Try<Integer> withResource5() {
+    return Try.withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .withResource(this::open)
+        .of((r1, r2, r3, r4, r5) -> work(r1.value() + r2.value() + r3.value() + r4.value() + r5.value()));
+  }
+
+  @Benchmark
+  public Object plain1() {
+    try (Resource r1 = open()) {
+      return work(r1.value());
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object plain2() {
+    try (Resource r1 = open(); Resource r2 = open()) {
+      return work(r1.value() + r2.value());
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object plain3() {
+    try (Resource r1 = open(); Resource r2 = open(); Resource r3 = open()) {
+      return work(r1.value() + r2.value() + r3.value());
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object plain4() {
+    try (Resource r1 = open();
+        Resource r2 = open();
+        Resource r3 = open();
+        Resource r4 = open()) {
+      return work(r1.value() + r2.value() + r3.value() + r4.value());
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object plain5() {
+    try (Resource r1 = open();
+        Resource r2 = open();
+        Resource r3 = open();
+        Resource r4 = open();
+        Resource r5 = open()) {
+      return work(r1.value() + r2.value() + r3.value() + r4.value() + r5.value());
+    } catch (Exception e) {
+      return e;
+    }
+  }
+}
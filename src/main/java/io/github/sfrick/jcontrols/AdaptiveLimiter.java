@@ -0,0 +1,337 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A concurrency limit that adapts itself to the observed latency and failures
+ * of the calls it guards. Calls beyond the current limit are rejected with a
+ * preallocated {@link CallNotPermittedException}, so an overloaded service
+ * sheds load instead of queueing.
+ * <p>
+ * How the limit moves is decided by an {@link Algorithm}: {@link Vegas}
+ * estimates the queue from the ratio of the minimum to the current latency,
+ * {@link Gradient} compares short and long term latency. Samples are fed to the
+ * algorithm under a lock. Successful samples only try the lock and are skipped
+ * while another thread updates the limit, drops always wait for it, so no
+ * overload signal is lost.
+ * 
+ * <pre>{@code
+ * AdaptiveLimiter limiter = AdaptiveLimiter.of("search", AdaptiveLimiter.Algorithm.vegas());
+ * Try<Hits> hits = limiter.of(() -> index.search(query));
+ * }</pre>
+ */
+public final class AdaptiveLimiter {
+
+  /**
+   * Computes the next limit from a sample. An algorithm keeps state between
+   * samples and must not be shared between limiters.
+   */
+  public sealed interface Algorithm permits Vegas, Gradient {
+
+    /**
+     * @return a {@link Vegas} algorithm starting at 20, limited to [1, 1000]
+     */
+    static Algorithm vegas() {
+      return new Vegas(20, 1, 1000);
+    }
+
+    /**
+     * @return a {@link Gradient} algorithm starting at 20, limited to [1, 1000]
+     */
+    static Algorithm gradient() {
+      return new Gradient(20, 1, 1000, 0.2);
+    }
+
+    int initialLimit();
+
+    /**
+     * @param limit    the current limit
+     * @param rttNanos the latency of the sampled call
+     * @param inflight the number of calls in flight when the call started
+     * @param dropped  true if the call failed in a way that signals overload
+     * @return the next limit
+     */
+    int update(int limit, long rttNanos, int inflight, boolean dropped);
+  }
+
+  /**
+   * Estimates the number of queued calls as
+   * {@code limit * (1 - minRtt / rtt)}. The limit grows while the queue is
+   * shorter than alpha, shrinks once it is longer than beta and shrinks on
+   * every drop.
+   */
+  public static final class Vegas implements Algorithm {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private long minRtt = Long.MAX_VALUE;
+
+    public Vegas(int initialLimit, int minLimit, int maxLimit) {
+      checkLimits(initialLimit, minLimit, maxLimit);
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public int initialLimit() {
+      return initialLimit;
+    }
+
+    @Override
+    public int update(int limit, long rttNanos, int inflight, boolean dropped) {
+      if (rttNanos > 0 && rttNanos < minRtt) {
+        minRtt = rttNanos;
+      }
+      double step = Math.max(1.0, Math.log10(limit));
+      if (dropped) {
+        return clamp(limit - step, minLimit, maxLimit);
+      }
+      if (inflight * 2 < limit || rttNanos <= 0) {
+        return limit;
+      }
+      double queue = Math.ceil(limit * (1.0 - (double) minRtt / rttNanos));
+      double alpha = 3 * step;
+      double beta = 6 * step;
+      if (queue <= alpha) {
+        return clamp(limit + step, minLimit, maxLimit);
+      }
+      if (queue >= beta) {
+        return clamp(limit - step, minLimit, maxLimit);
+      }
+      return limit;
+    }
+  }
+
+  /**
+   * Compares an exponential moving average of the latency to the latest
+   * sample. The ratio, bounded to [0.5, 1], scales the limit down as latency
+   * rises, and a headroom of {@code sqrt(limit)} lets it grow again. Drops
+   * scale the limit with the lower bound. The smoothed limit is kept as a
+   * double, so small steps accumulate instead of being truncated away.
+   */
+  public static final class Gradient implements Algorithm {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private double longRtt;
+    private double estimate;
+
+    /**
+     * @param initialLimit the limit before any call has been measured
+     * @param minLimit     the lowest limit
+     * @param maxLimit     the highest limit
+     * @param smoothing    the weight of a new limit in (0, 1]
+     */
+    public Gradient(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+      checkLimits(initialLimit, minLimit, maxLimit);
+      if (!(smoothing > 0 && smoothing <= 1)) {
+        throw new IllegalArgumentException("smoothing must be in (0, 1]");
+      }
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      this.smoothing = smoothing;
+      this.estimate = initialLimit;
+    }
+
+    @Override
+    public int initialLimit() {
+      return initialLimit;
+    }
+
+    @Override
+    public int update(int limit, long rttNanos, int inflight, boolean dropped) {
+      if ((int) estimate != limit) {
+        estimate = limit;
+      }
+      if (rttNanos > 0) {
+        longRtt = longRtt == 0 ? rttNanos : longRtt * 0.95 + rttNanos * 0.05;
+      }
+      double gradient;
+      if (dropped) {
+        gradient = 0.5;
+      } else if (inflight * 2 < limit || rttNanos <= 0) {
+        return limit;
+      } else {
+        gradient = Math.max(0.5, Math.min(1.0, longRtt / rttNanos));
+      }
+      double next = estimate * gradient + Math.sqrt(estimate);
+      estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - smoothing) + next * smoothing));
+      return (int) estimate;
+    }
+  }
+
+  private final String name;
+  private final Algorithm algorithm;
+  private final Predicate<? super Throwable> dropOn;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final ReentrantLock sampling = new ReentrantLock();
+  private final Try<?> rejection;
+  private volatile int limit;
+
+  private AdaptiveLimiter(String name, Algorithm algorithm, Predicate<? super Throwable> dropOn) {
+    this.name = name;
+    this.algorithm = algorithm;
+    this.dropOn = dropOn;
+    this.limit = algorithm.initialLimit();
+    this.rejection = new Try.Failure<>(new CallNotPermittedException("AdaptiveLimiter '" + name + "' is full"));
+  }
+
+  /**
+   * A limiter that treats every failure as a signal of overload.
+   * 
+   * @param name      the name used in the message of rejected calls
+   * @param algorithm adapts the limit to the measured latencies
+   * @return a limiter starting at the initial limit of the algorithm
+   */
+  public static AdaptiveLimiter of(String name, Algorithm algorithm) {
+    return of(name, algorithm, t -> true);
+  }
+
+  /**
+   * @param name      the name used in the message of rejected calls
+   * @param algorithm adapts the limit to the measured latencies
+   * @param dropOn    decides which failures signal overload, e.g. timeouts
+   * @return a limiter starting at the initial limit of the algorithm
+   */
+  public static AdaptiveLimiter of(String name, Algorithm algorithm, Predicate<? super Throwable> dropOn) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(algorithm);
+    Objects.requireNonNull(dropOn);
+    return new AdaptiveLimiter(name, algorithm, dropOn);
+  }
+
+  /**
+   * Runs the work, if the current limit permits it.
+   * 
+   * @param <A>  the type of the result
+   * @param work the work to run
+   * @return the result of the work, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  public <A> Try<A> of(Function0<A> work) {
+    Objects.requireNonNull(work);
+    return execute(() -> Try.of(work));
+  }
+
+  /**
+   * Runs the work, if the current limit permits it.
+   * 
+   * @param runnable the work to run
+   * @return the result of the work, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  public Try<Void> ofRunnable(CheckedRunnable runnable) {
+    Objects.requireNonNull(runnable);
+    return execute(() -> Try.ofRunnable(runnable));
+  }
+
+  /**
+   * Runs a call that already produces a Try, if the current limit permits it.
+   * 
+   * @param <A>  the type of the result
+   * @param call the call to run
+   * @return the result of the call, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Try<A> execute(Supplier<? extends Try<A>> call) {
+    Objects.requireNonNull(call);
+    int current;
+    do {
+      current = inflight.get();
+      if (current >= limit) {
+        rejected.increment();
+        return (Try<A>) rejection;
+      }
+    } while (!inflight.compareAndSet(current, current + 1));
+    long start = System.nanoTime();
+    Try<A> result = null;
+    try {
+      result = call.get();
+      return result;
+    } finally {
+      long rtt = System.nanoTime() - start;
+      inflight.decrementAndGet();
+      boolean dropped = result == null || result instanceof Try.Failure<A> failure && dropOn.test(failure.cause());
+      sample(rtt, current + 1, dropped);
+    }
+  }
+
+  private void sample(long rttNanos, int inflightAtStart, boolean dropped) {
+    if (dropped) {
+      sampling.lock();
+    } else if (!sampling.tryLock()) {
+      return;
+    }
+    try {
+      limit = algorithm.update(limit, rttNanos, inflightAtStart, dropped);
+    } finally {
+      sampling.unlock();
+    }
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return the current concurrency limit
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of calls currently running
+   */
+  public int inflight() {
+    return inflight.get();
+  }
+
+  /**
+   * @return the number of calls rejected since the limiter was created
+   */
+  public long rejectedCalls() {
+    return rejected.sum();
+  }
+
+  private static void checkLimits(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+    }
+  }
+
+  private static int clamp(double limit, int minLimit, int maxLimit) {
+    return (int) Math.max(minLimit, Math.min(maxLimit, limit));
+  }
+}
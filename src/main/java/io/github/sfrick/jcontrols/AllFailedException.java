@@ -0,0 +1,51 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.List;
+
+/**
+ * The cause of the Failure of {@link Try#any}, if no task succeeded. The
+ * failures of the tasks are kept in the order of the tasks, the first one is
+ * the cause and the others are suppressed.
+ */
+public class AllFailedException extends Exception {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient List<Throwable> causes;
+
+  AllFailedException(List<Throwable> causes) {
+    super("All " + causes.size() + " tasks failed", causes.get(0));
+    this.causes = List.copyOf(causes);
+    for (int i = 1; i < causes.size(); i++) {
+      addSuppressed(causes.get(i));
+    }
+  }
+
+  /**
+   * @return the failures of the tasks in the order of the tasks
+   */
+  public List<Throwable> causes() {
+    return causes;
+  }
+}
@@ -0,0 +1,225 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The asynchronous counterpart of {@link Try}. The work runs on virtual
+ * threads, if the runtime supports them, or on a supplied {@link Executor}.
+ * {@code map}, {@code flatMap} and {@code recover} never block, only
+ * {@link #toTry()} and {@link #toEither()} wait for the result.
+ * 
+ * @param <A> the success type
+ */
+public final class AsyncTry<A> {
+
+  private final CompletableFuture<A> future;
+
+  private AsyncTry(CompletableFuture<A> future) {
+    this.future = future;
+  }
+
+  /**
+   * Runs the work on the default executor, see {@link Try#async(Function0)}.
+   * 
+   * @param <A>
+   * @param work
+   * @return
+   */
+  public static <A> AsyncTry<A> of(Function0<A> work) {
+    return of(work, DefaultExecutor.get());
+  }
+
+  /**
+   * Runs the work on the given executor.
+   * 
+   * @param <A>
+   * @param work
+   * @param executor
+   * @return an AsyncTry that completes with the result of the work, or with the
+   *         Throwable thrown by the work or by the executor on rejection.
+   */
+  public static <A> AsyncTry<A> of(Function0<A> work, Executor executor) {
+    Objects.requireNonNull(work);
+    Objects.requireNonNull(executor);
+    CompletableFuture<A> future = new CompletableFuture<>();
+    Function0<A> traced = Tracing.propagate(work);
+    try {
+      executor.execute(() -> {
+        try {
+          future.complete(traced.apply());
+        } catch (Throwable t) {
+          future.completeExceptionally(t);
+        }
+      });
+    } catch (Throwable rejected) {
+      future.completeExceptionally(rejected);
+    }
+    return new AsyncTry<>(future);
+  }
+
+  static <A> AsyncTry<A> wrap(CompletableFuture<A> future) {
+    return new AsyncTry<>(future);
+  }
+
+  /**
+   * @param <A>
+   * @param stage
+   * @return an AsyncTry that completes with the given stage.
+   */
+  public static <A> AsyncTry<A> fromCompletionStage(CompletionStage<A> stage) {
+    Objects.requireNonNull(stage);
+    return new AsyncTry<>(stage.toCompletableFuture().thenApply(Function.identity()));
+  }
+
+  /**
+   * @param <A>
+   * @param result
+   * @return an already completed AsyncTry.
+   */
+  public static <A> AsyncTry<A> fromTry(Try<A> result) {
+    Objects.requireNonNull(result);
+    Either<Throwable, A> either = result.toEither();
+    if (either instanceof Either.Failure<Throwable, A> failure) {
+      return new AsyncTry<>(CompletableFuture.failedFuture(failure.value()));
+    }
+    return new AsyncTry<>(CompletableFuture.completedFuture(((Either.Success<Throwable, A>) either).value()));
+  }
+
+  /**
+   * @param <B>
+   * @param f
+   * @return
+   */
+  public <B> AsyncTry<B> map(Function<? super A, ? extends B> f) {
+    Objects.requireNonNull(f);
+    return new AsyncTry<>(future.thenApply(f));
+  }
+
+  /**
+   * @param <B>
+   * @param f
+   * @return
+   */
+  public <B> AsyncTry<B> flatMap(Function<? super A, ? extends AsyncTry<B>> f) {
+    Objects.requireNonNull(f);
+    return new AsyncTry<>(future.thenCompose(a -> {
+      AsyncTry<B> next = f.apply(a);
+      return next.future;
+    }));
+  }
+
+  /**
+   * Turns a failure into a success value.
+   * 
+   * @param f a function from the cause of the failure to a success value
+   * @return
+   */
+  public AsyncTry<A> recover(Function<? super Throwable, ? extends A> f) {
+    Objects.requireNonNull(f);
+    return new AsyncTry<>(future.exceptionally(t -> f.apply(unwrap(t))));
+  }
+
+  /**
+   * Turns a failure into another AsyncTry.
+   * 
+   * @param f a function from the cause of the failure to another AsyncTry
+   * @return
+   */
+  public AsyncTry<A> recoverWith(Function<? super Throwable, ? extends AsyncTry<A>> f) {
+    Objects.requireNonNull(f);
+    return new AsyncTry<>(future.handle((a, t) -> {
+      if (t == null) {
+        return future;
+      }
+      AsyncTry<A> next = f.apply(unwrap(t));
+      return next.future;
+    }).thenCompose(Function.identity()));
+  }
+
+  /**
+   * Consumes the result once it is available, without blocking.
+   * 
+   * @param consumer
+   */
+  public void onComplete(Consumer<? super Try<A>> consumer) {
+    Objects.requireNonNull(consumer);
+    future.whenComplete((a, t) -> consumer.accept(t == null ? Try.success(a) : Try.failure(unwrap(t))));
+  }
+
+  /**
+   * @return true if the result is available
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * @return a CompletionStage that completes with this AsyncTry.
+   */
+  public CompletionStage<A> toCompletionStage() {
+    return future.minimalCompletionStage();
+  }
+
+  /**
+   * Waits for the result. If the waiting thread is interrupted, the interrupt
+   * flag is restored and a Failure with the {@link InterruptedException} is
+   * returned.
+   * 
+   * @return
+   */
+  public Try<A> toTry() {
+    try {
+      return Try.success(future.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Try.failure(e);
+    } catch (ExecutionException | CancellationException e) {
+      return Try.failure(unwrap(e));
+    }
+  }
+
+  /**
+   * Waits for the result, see {@link #toTry()}.
+   * 
+   * @return
+   */
+  public Either<Throwable, A> toEither() {
+    return toTry().toEither();
+  }
+
+  static Throwable unwrap(Throwable t) {
+    while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+      t = t.getCause();
+    }
+    return t;
+  }
+}
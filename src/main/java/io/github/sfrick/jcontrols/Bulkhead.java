@@ -0,0 +1,207 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Isolates a resource pool by capping the number of concurrent calls. Calls
+ * beyond the cap wait in a bounded queue for at most the configured time, and
+ * fail fast with a preallocated {@link CallNotPermittedException} if the queue
+ * is full or the wait times out.
+ * <p>
+ * The bulkhead is built on a fair {@link Semaphore} and never uses
+ * {@code synchronized}, so waiting virtual threads do not pin their carrier.
+ * 
+ * <pre>{@code
+ * Bulkhead bulkhead = Bulkhead.of("db", new Bulkhead.Config(10, 50, Duration.ofMillis(100)));
+ * Try<Row> row = bulkhead.execute(() -> Try.withResource(pool::connection).of(c -> c.query(sql)));
+ * }</pre>
+ */
+public final class Bulkhead {
+
+  /**
+   * @param maxConcurrentCalls the maximum number of calls running at the same
+   *                           time
+   * @param maxWaitingCalls    the maximum number of calls waiting for a permit
+   * @param maxWait            the maximum time a call waits for a permit
+   */
+  public record Config(int maxConcurrentCalls, int maxWaitingCalls, Duration maxWait) {
+
+    public Config {
+      if (maxConcurrentCalls < 1) {
+        throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+      }
+      if (maxWaitingCalls < 0) {
+        throw new IllegalArgumentException("maxWaitingCalls must not be negative");
+      }
+      Objects.requireNonNull(maxWait);
+    }
+
+    /**
+     * 25 concurrent calls without waiting.
+     * 
+     * @return
+     */
+    public static Config defaults() {
+      return new Config(25, 0, Duration.ZERO);
+    }
+
+    public Config withMaxConcurrentCalls(int maxConcurrentCalls) {
+      return new Config(maxConcurrentCalls, maxWaitingCalls, maxWait);
+    }
+
+    public Config withWaiting(int maxWaitingCalls, Duration maxWait) {
+      return new Config(maxConcurrentCalls, maxWaitingCalls, maxWait);
+    }
+  }
+
+  private final String name;
+  private final Config config;
+  private final long maxWaitNanos;
+  private final Semaphore permits;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final Try<?> rejection;
+
+  private Bulkhead(String name, Config config) {
+    this.name = name;
+    this.config = config;
+    this.maxWaitNanos = config.maxWait().toNanos();
+    this.permits = new Semaphore(config.maxConcurrentCalls(), true);
+    this.rejection = new Try.Failure<>(new CallNotPermittedException("Bulkhead '" + name + "' is full"));
+  }
+
+  /**
+   * @param name   the name used in the message of rejected calls
+   * @param config
+   * @return
+   */
+  public static Bulkhead of(String name, Config config) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(config);
+    return new Bulkhead(name, config);
+  }
+
+  /**
+   * Runs the work, once a permit is available.
+   * 
+   * @param <A>
+   * @param work
+   * @return the result of the work, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  public <A> Try<A> of(Function0<A> work) {
+    Objects.requireNonNull(work);
+    return execute(() -> Try.of(work));
+  }
+
+  /**
+   * Runs the work, once a permit is available.
+   * 
+   * @param runnable
+   * @return
+   */
+  public Try<Void> ofRunnable(CheckedRunnable runnable) {
+    Objects.requireNonNull(runnable);
+    return execute(() -> Try.ofRunnable(runnable));
+  }
+
+  /**
+   * Runs a call that already produces a Try, e.g.
+   * {@code bulkhead.execute(() -> Try.withResource(...).ofConsumer(...))}, once
+   * a permit is available.
+   * 
+   * @param <A>
+   * @param call
+   * @return the result of the call, a Failure with a
+   *         {@link CallNotPermittedException} if the bulkhead is full, or a
+   *         Failure with an {@link InterruptedException} if the thread was
+   *         interrupted while waiting
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Try<A> execute(Supplier<? extends Try<A>> call) {
+    Objects.requireNonNull(call);
+    try {
+      // the timed variant honours the fairness of the semaphore, the untimed
+      // tryAcquire() would barge ahead of already waiting calls
+      if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS) && !await()) {
+        rejected.increment();
+        return (Try<A>) rejection;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Try.Failure<>(e);
+    }
+    try {
+      return call.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private boolean await() throws InterruptedException {
+    if (maxWaitNanos <= 0) {
+      return false;
+    }
+    if (waiting.incrementAndGet() > config.maxWaitingCalls()) {
+      waiting.decrementAndGet();
+      return false;
+    }
+    try {
+      return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return the number of calls currently running
+   */
+  public int activeCalls() {
+    return config.maxConcurrentCalls() - permits.availablePermits();
+  }
+
+  /**
+   * @return the number of calls currently waiting for a permit
+   */
+  public int waitingCalls() {
+    return waiting.get();
+  }
+
+  /**
+   * @return the number of calls rejected since the bulkhead was created
+   */
+  public long rejectedCalls() {
+    return rejected.sum();
+  }
+}
@@ -0,0 +1,84 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The configuration of a memoized function, see
+ * {@link Function1#memoized(CacheSpec)}.
+ * 
+ * @param maximumSize the maximum number of cached results
+ * @param ttl         the time a result stays cached, {@link Duration#ZERO}
+ *                    caches it until it is evicted
+ * @param failureTtl  the time a thrown exception stays cached, it is
+ *                    rethrown as the cause of a new
+ *                    {@link java.util.concurrent.ExecutionException} on every
+ *                    call, {@link Duration#ZERO} passes exceptions through
+ *                    without caching them. The cause is shared by all callers
+ *                    and must not be mutated, e.g. by
+ *                    {@link Throwable#addSuppressed}.
+ * @param stats       the counters of the cache
+ */
+public record CacheSpec(int maximumSize, Duration ttl, Duration failureTtl, CacheStats stats) {
+
+  public CacheSpec {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    Objects.requireNonNull(ttl);
+    Objects.requireNonNull(failureTtl);
+    Objects.requireNonNull(stats);
+    if (ttl.isNegative() || failureTtl.isNegative()) {
+      throw new IllegalArgumentException("ttl must not be negative");
+    }
+  }
+
+  /**
+   * A cache without expiry, passing exceptions through.
+   * 
+   * @param maximumSize
+   * @return
+   */
+  public static CacheSpec of(int maximumSize) {
+    return new CacheSpec(maximumSize, Duration.ZERO, Duration.ZERO, new CacheStats());
+  }
+
+  public CacheSpec withTtl(Duration ttl) {
+    return new CacheSpec(maximumSize, ttl, failureTtl, stats);
+  }
+
+  public CacheSpec withFailureCaching(Duration failureTtl) {
+    return new CacheSpec(maximumSize, ttl, failureTtl, stats);
+  }
+
+  /**
+   * Functions memoized with the same spec share its stats.
+   * 
+   * @param stats
+   * @return
+   */
+  public CacheSpec withStats(CacheStats stats) {
+    return new CacheSpec(maximumSize, ttl, failureTtl, stats);
+  }
+}
@@ -0,0 +1,89 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+/**
+ * Shared instances of the most common Success and Failure values, comparable
+ * to the cache behind {@link Integer#valueOf(int)}: null (the unit success of
+ * {@link Try#ofRunnable}), both booleans, small integers and the Failure for an
+ * empty Optional. All of them are immutable, so sharing is safe.
+ */
+final class Canonical {
+
+  private static final int LOW = -128;
+  private static final int HIGH = 127;
+
+  private static final Try<?> TRY_NULL = new Try.Success<>(null);
+  private static final Try<?> TRY_TRUE = new Try.Success<>(Boolean.TRUE);
+  private static final Try<?> TRY_FALSE = new Try.Success<>(Boolean.FALSE);
+  private static final Try<?>[] TRY_INTS = new Try<?>[HIGH - LOW + 1];
+
+  private static final Either<?, ?> EITHER_NULL = new Either.Success<>(null);
+  private static final Either<?, ?> EITHER_TRUE = new Either.Success<>(Boolean.TRUE);
+  private static final Either<?, ?> EITHER_FALSE = new Either.Success<>(Boolean.FALSE);
+  private static final Either<?, ?>[] EITHER_INTS = new Either<?, ?>[HIGH - LOW + 1];
+
+  private static final Try<?> EMPTY_OPTIONAL = new Try.Failure<>(StacklessException.of("No value present"));
+
+  static {
+    for (int i = LOW; i <= HIGH; i++) {
+      TRY_INTS[i - LOW] = new Try.Success<>(Integer.valueOf(i));
+      EITHER_INTS[i - LOW] = new Either.Success<>(Integer.valueOf(i));
+    }
+  }
+
+  private Canonical() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A> Try<A> trySuccess(A value) {
+    if (value == null) {
+      return (Try<A>) TRY_NULL;
+    }
+    if (value instanceof Boolean b) {
+      return (Try<A>) (b ? TRY_TRUE : TRY_FALSE);
+    }
+    if (value instanceof Integer i && i >= LOW && i <= HIGH) {
+      return (Try<A>) TRY_INTS[i - LOW];
+    }
+    return new Try.Success<>(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <E, A> Either<E, A> eitherSuccess(A value) {
+    if (value == null) {
+      return (Either<E, A>) EITHER_NULL;
+    }
+    if (value instanceof Boolean b) {
+      return (Either<E, A>) (b ? EITHER_TRUE : EITHER_FALSE);
+    }
+    if (value instanceof Integer i && i >= LOW && i <= HIGH) {
+      return (Either<E, A>) EITHER_INTS[i - LOW];
+    }
+    return new Either.Success<>(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A> Try<A> emptyOptional() {
+    return (Try<A>) EMPTY_OPTIONAL;
+  }
+}
@@ -0,0 +1,387 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling a degraded dependency. While {@link State#CLOSED closed} the
+ * breaker records the outcome of every call in a count based sliding window.
+ * Once the failure rate or the slow call rate of the window reaches its
+ * threshold, the breaker {@link State#OPEN opens} and fails every call fast
+ * with a preallocated {@link CallNotPermittedException}. After the open
+ * duration it lets a few trial calls through ({@link State#HALF_OPEN half
+ * open}) and closes again, if they succeed.
+ * <p>
+ * Each state owns its bookkeeping, the window while closed and the trial
+ * counters while half open. A transition swaps in the bookkeeping of the next
+ * state with a single compare-and-set, so a thread losing the race cannot
+ * clobber the state another thread moved to. A call records its outcome only
+ * into the state that admitted it. The window is a lock free ring buffer with
+ * striped failure counters, so the closed path neither locks nor allocates.
+ * 
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.of("inventory", CircuitBreaker.Config.defaults());
+ * Try<Stock> stock = breaker.of(() -> inventory.lookup(sku));
+ * }</pre>
+ */
+public final class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * @param windowSize             the number of most recent calls the rates
+   *                               are computed from
+   * @param minimumCalls           the number of calls needed before the rates
+   *                               are evaluated
+   * @param failureRateThreshold   the failure rate in percent that opens the
+   *                               breaker
+   * @param slowCallRateThreshold  the slow call rate in percent that opens the
+   *                               breaker
+   * @param slowCallDuration       calls taking at least this long are slow
+   * @param openDuration           how long the breaker stays open
+   * @param permittedHalfOpenCalls the number of trial calls while half open
+   */
+  public record Config(int windowSize, int minimumCalls, double failureRateThreshold, double slowCallRateThreshold,
+      Duration slowCallDuration, Duration openDuration, int permittedHalfOpenCalls) {
+
+    public Config {
+      if (windowSize < 1 || minimumCalls < 1 || permittedHalfOpenCalls < 1) {
+        throw new IllegalArgumentException("windowSize, minimumCalls and permittedHalfOpenCalls must be positive");
+      }
+      Objects.requireNonNull(slowCallDuration);
+      Objects.requireNonNull(openDuration);
+    }
+
+    /**
+     * A window of 100 calls, evaluated from 20 calls on, opening at 50% failures
+     * or 100% calls slower than 5s, staying open for 30s and permitting 5 trial
+     * calls.
+     * 
+     * @return
+     */
+    public static Config defaults() {
+      return new Config(100, 20, 50.0, 100.0, Duration.ofSeconds(5), Duration.ofSeconds(30), 5);
+    }
+
+    public Config withWindow(int windowSize, int minimumCalls) {
+      return new Config(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration,
+          openDuration, permittedHalfOpenCalls);
+    }
+
+    public Config withFailureRateThreshold(double failureRateThreshold) {
+      return new Config(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration,
+          openDuration, permittedHalfOpenCalls);
+    }
+
+    public Config withSlowCalls(Duration slowCallDuration, double slowCallRateThreshold) {
+      return new Config(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration,
+          openDuration, permittedHalfOpenCalls);
+    }
+
+    public Config withOpenDuration(Duration openDuration) {
+      return new Config(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration,
+          openDuration, permittedHalfOpenCalls);
+    }
+
+    public Config withPermittedHalfOpenCalls(int permittedHalfOpenCalls) {
+      return new Config(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallDuration,
+          openDuration, permittedHalfOpenCalls);
+    }
+  }
+
+  private static final int SUCCESS = 1;
+  private static final int FAILED = 2;
+  private static final int SLOW = 4;
+
+  /**
+   * The bookkeeping of one state. Open and half open phases keep the window of
+   * the closed phase before them, so the rates can still be read.
+   */
+  private static final class Phase {
+    private final State state;
+    private final long openedAt;
+
+    private final AtomicIntegerArray window;
+    private final AtomicLong cursor;
+    private final LongAdder failures;
+    private final LongAdder slowCalls;
+
+    private final AtomicInteger permits;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger trialFailures = new AtomicInteger();
+    private final AtomicInteger trialSlowCalls = new AtomicInteger();
+
+    private Phase(State state, long openedAt, Phase closed, int permits) {
+      this.state = state;
+      this.openedAt = openedAt;
+      this.window = closed.window;
+      this.cursor = closed.cursor;
+      this.failures = closed.failures;
+      this.slowCalls = closed.slowCalls;
+      this.permits = new AtomicInteger(permits);
+    }
+
+    private Phase(int windowSize) {
+      this.state = State.CLOSED;
+      this.openedAt = 0;
+      this.window = new AtomicIntegerArray(windowSize);
+      this.cursor = new AtomicLong();
+      this.failures = new LongAdder();
+      this.slowCalls = new LongAdder();
+      this.permits = new AtomicInteger();
+    }
+  }
+
+  private final String name;
+  private final Config config;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final Try<?> rejection;
+
+  private final AtomicReference<Phase> phase;
+
+  private CircuitBreaker(String name, Config config) {
+    this.name = name;
+    this.config = config;
+    this.slowCallNanos = config.slowCallDuration().toNanos();
+    this.openNanos = config.openDuration().toNanos();
+    this.rejection = new Try.Failure<>(new CallNotPermittedException("CircuitBreaker '" + name + "' is open"));
+    this.phase = new AtomicReference<>(new Phase(config.windowSize()));
+  }
+
+  /**
+   * @param name   the name used in the message of rejected calls
+   * @param config
+   * @return a closed circuit breaker
+   */
+  public static CircuitBreaker of(String name, Config config) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(config);
+    return new CircuitBreaker(name, config);
+  }
+
+  /**
+   * Runs the work, if the breaker permits it.
+   * 
+   * @param <A>
+   * @param work
+   * @return the result of the work, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  public <A> Try<A> of(Function0<A> work) {
+    Objects.requireNonNull(work);
+    return execute(() -> Try.of(work));
+  }
+
+  /**
+   * Runs the work, if the breaker permits it.
+   * 
+   * @param runnable
+   * @return
+   */
+  public Try<Void> ofRunnable(CheckedRunnable runnable) {
+    Objects.requireNonNull(runnable);
+    return execute(() -> Try.ofRunnable(runnable));
+  }
+
+  /**
+   * Runs a call that already produces a Try, e.g.
+   * {@code breaker.execute(() -> Try.withResource(...).of(...))}, if the
+   * breaker permits it.
+   * 
+   * @param <A>
+   * @param call
+   * @return the result of the call, otherwise a Failure with a
+   *         {@link CallNotPermittedException}
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Try<A> execute(Supplier<? extends Try<A>> call) {
+    Objects.requireNonNull(call);
+    Phase admitted = tryAcquirePermission();
+    if (admitted == null) {
+      return (Try<A>) rejection;
+    }
+    long start = System.nanoTime();
+    Try<A> result;
+    try {
+      result = call.get();
+    } catch (Throwable t) {
+      onResult(admitted, true, System.nanoTime() - start);
+      throw t;
+    }
+    onResult(admitted, result.isFailure(), System.nanoTime() - start);
+    return result;
+  }
+
+  /**
+   * @param <T>
+   * @param <R>
+   * @param f
+   * @return a function that calls f through this breaker
+   */
+  public <T, R> Function<T, Try<R>> decorate(Function1<? super T, ? extends R> f) {
+    Objects.requireNonNull(f);
+    return t -> of(() -> f.apply(t));
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public State state() {
+    Phase current = phase.get();
+    return current.state == State.OPEN && openExpired(current) ? State.HALF_OPEN : current.state;
+  }
+
+  /**
+   * @return the failure rate of the current window in percent, or -1 if the
+   *         window has less than the minimum number of calls
+   */
+  public double failureRate() {
+    Phase current = phase.get();
+    int calls = recordedCalls(current);
+    return calls < config.minimumCalls() ? -1 : current.failures.sum() * 100.0 / calls;
+  }
+
+  /**
+   * @return the slow call rate of the current window in percent, or -1 if the
+   *         window has less than the minimum number of calls
+   */
+  public double slowCallRate() {
+    Phase current = phase.get();
+    int calls = recordedCalls(current);
+    return calls < config.minimumCalls() ? -1 : current.slowCalls.sum() * 100.0 / calls;
+  }
+
+  /**
+   * @return the phase that admitted the call, or null if it is not permitted
+   */
+  private Phase tryAcquirePermission() {
+    Phase current = phase.get();
+    if (current.state == State.CLOSED) {
+      return current;
+    }
+    if (current.state == State.OPEN) {
+      if (!openExpired(current)) {
+        return null;
+      }
+      Phase halfOpen = new Phase(State.HALF_OPEN, current.openedAt, current, config.permittedHalfOpenCalls());
+      if (!phase.compareAndSet(current, halfOpen)) {
+        current = phase.get();
+        if (current.state != State.HALF_OPEN) {
+          return null;
+        }
+      } else {
+        current = halfOpen;
+      }
+    }
+    while (true) {
+      int permits = current.permits.get();
+      if (permits <= 0) {
+        return null;
+      }
+      if (current.permits.compareAndSet(permits, permits - 1)) {
+        return current;
+      }
+    }
+  }
+
+  private boolean openExpired(Phase open) {
+    return System.nanoTime() - open.openedAt >= openNanos;
+  }
+
+  private void onResult(Phase admitted, boolean failed, long nanos) {
+    boolean slow = nanos >= slowCallNanos;
+    if (admitted.state == State.CLOSED) {
+      if (phase.get() == admitted) {
+        record(admitted, failed, slow);
+      }
+    } else {
+      recordHalfOpen(admitted, failed, slow);
+    }
+  }
+
+  private void record(Phase closed, boolean failed, boolean slow) {
+    int outcome = SUCCESS | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+    int slot = (int) Math.floorMod(closed.cursor.getAndIncrement(), (long) closed.window.length());
+    int previous = closed.window.getAndSet(slot, outcome);
+    if ((previous & FAILED) != 0) {
+      closed.failures.decrement();
+    }
+    if ((previous & SLOW) != 0) {
+      closed.slowCalls.decrement();
+    }
+    if (failed) {
+      closed.failures.increment();
+    }
+    if (slow) {
+      closed.slowCalls.increment();
+    }
+    if (failed || slow) {
+      int calls = recordedCalls(closed);
+      if (calls >= config.minimumCalls() && exceedsThresholds(calls, closed.failures.sum(), closed.slowCalls.sum())) {
+        transitionToOpen(closed);
+      }
+    }
+  }
+
+  private void recordHalfOpen(Phase halfOpen, boolean failed, boolean slow) {
+    if (failed) {
+      halfOpen.trialFailures.incrementAndGet();
+    }
+    if (slow) {
+      halfOpen.trialSlowCalls.incrementAndGet();
+    }
+    int completed = halfOpen.completed.incrementAndGet();
+    if (completed == config.permittedHalfOpenCalls()) {
+      if (exceedsThresholds(completed, halfOpen.trialFailures.get(), halfOpen.trialSlowCalls.get())) {
+        transitionToOpen(halfOpen);
+      } else {
+        phase.compareAndSet(halfOpen, new Phase(config.windowSize()));
+      }
+    }
+  }
+
+  private boolean exceedsThresholds(int calls, long failed, long slow) {
+    return failed * 100.0 / calls >= config.failureRateThreshold()
+        || slow * 100.0 / calls >= config.slowCallRateThreshold();
+  }
+
+  private static int recordedCalls(Phase phase) {
+    return (int) Math.min(phase.cursor.get(), phase.window.length());
+  }
+
+  private void transitionToOpen(Phase from) {
+    phase.compareAndSet(from, new Phase(State.OPEN, System.nanoTime(), from, 0));
+  }
+}
@@ -0,0 +1,140 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A point in time after which work is no longer worth doing. A deadline is
+ * created once per request and carried through the stages of a
+ * {@code map}/{@code flatMap} chain, every stage started after the deadline
+ * is skipped with a {@link DeadlineExceededException}.
+ * 
+ * <pre>{@code
+ * Deadline deadline = Deadline.after(Duration.ofMillis(200));
+ * Try<Offer> offer = deadline.of(() -> customers.load(id))
+ *     .flatMap(deadline.flatMap(customer -> deadline.of(() -> pricing.quote(customer))))
+ *     .map(deadline.map(Offer::new));
+ * }</pre>
+ */
+public final class Deadline {
+
+  private static final Try<?> EXCEEDED = new Try.Failure<>(DeadlineExceededException.INSTANCE);
+
+  private final long startNanos;
+  private final long budgetNanos;
+
+  private Deadline(long startNanos, long budgetNanos) {
+    this.startNanos = startNanos;
+    this.budgetNanos = budgetNanos;
+  }
+
+  /**
+   * @param budget the time until the deadline, budgets beyond about 292 years
+   *               are capped there
+   * @return a deadline that expires once the budget is spent
+   */
+  public static Deadline after(Duration budget) {
+    Objects.requireNonNull(budget);
+    long start = System.nanoTime();
+    if (budget.isNegative()) {
+      return new Deadline(start, 0);
+    }
+    try {
+      return new Deadline(start, budget.toNanos());
+    } catch (ArithmeticException overflow) {
+      return new Deadline(start, Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * @return true if the deadline has passed
+   */
+  public boolean isExpired() {
+    return remainingNanos() <= 0;
+  }
+
+  /**
+   * @return the time left, never negative
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0, remainingNanos()));
+  }
+
+  long remainingNanos() {
+    return budgetNanos - (System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Runs the work with the remaining time as timeout, see
+   * {@link Try#of(Function0, Duration)}.
+   * 
+   * @param <A>
+   * @param work
+   * @return the result of the work, a Failure with a
+   *         {@link java.util.concurrent.TimeoutException} if it did not finish
+   *         in time, or a Failure with a {@link DeadlineExceededException}
+   *         without running the work, if the deadline had already expired.
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Try<A> of(Function0<A> work) {
+    Objects.requireNonNull(work);
+    long remaining = remainingNanos();
+    return remaining <= 0 ? (Try<A>) EXCEEDED : Timeout.run(work, remaining);
+  }
+
+  /**
+   * Guards a mapping function for {@link Try#map(Function)}.
+   * 
+   * @param <A>
+   * @param <B>
+   * @param f
+   * @return a function applying f, or throwing a
+   *         {@link DeadlineExceededException} if the deadline has expired
+   */
+  public <A, B> Function<A, B> map(Function<? super A, ? extends B> f) {
+    Objects.requireNonNull(f);
+    return a -> {
+      if (isExpired()) {
+        throw DeadlineExceededException.INSTANCE;
+      }
+      return f.apply(a);
+    };
+  }
+
+  /**
+   * Guards a mapping function for {@link Try#flatMap(Function)}.
+   * 
+   * @param <A>
+   * @param <B>
+   * @param f
+   * @return a function applying f, or returning a Failure with a
+   *         {@link DeadlineExceededException} if the deadline has expired
+   */
+  @SuppressWarnings("unchecked")
+  public <A, B> Function<A, Try<B>> flatMap(Function<? super A, ? extends Try<B>> f) {
+    Objects.requireNonNull(f);
+    return a -> isExpired() ? (Try<B>) EXCEEDED : f.apply(a);
+  }
+}
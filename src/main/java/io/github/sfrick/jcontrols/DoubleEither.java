@@ -0,0 +1,263 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A double specialization of {@link Either}, that holds its success value
+ * without boxing.
+ * 
+ * @param <E> The failure type
+ */
+public sealed interface DoubleEither<E> permits DoubleEither.Failure, DoubleEither.Success {
+
+  /**
+   * Constructs an DoubleEither from a success value.
+   * 
+   * @param <E>   The failure type of the constructed DoubleEither
+   * @param value the success value from which the DoubleEither will be constructed.
+   * @return
+   */
+  static <E> DoubleEither<E> success(double value) {
+    return new Success<>(value);
+  }
+
+  /**
+   * Constructs an DoubleEither from a failure value.
+   * 
+   * @param <E>     The failure type of the constructed DoubleEither
+   * @param failure the failure value from which the DoubleEither will be constructed.
+   * @return
+   */
+  static <E> DoubleEither<E> failure(E failure) {
+    return new Failure<>(failure);
+  }
+
+  /**
+   * Constructs an DoubleEither from a boxed Either.
+   * 
+   * @param <E>    The failure type of the constructed DoubleEither
+   * @param either the boxed Either
+   * @return
+   * @throws NullPointerException - if the either or its success value is null
+   */
+  static <E> DoubleEither<E> fromEither(Either<E, Double> either) {
+    Objects.requireNonNull(either);
+    if (either instanceof Either.Success<E, Double> success) {
+      return new Success<>(success.value());
+    }
+    return new Failure<>(((Either.Failure<E, Double>) either).value());
+  }
+
+  /**
+   * If a success value is present, apply the mapping function f to it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  DoubleEither<E> map(DoubleUnaryOperator f);
+
+  /**
+   * If a success value is present, apply the boxing mapping function f to it.
+   * 
+   * @param <B> - The success type of the result of the mapping function
+   * @param f   - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <B> Either<E, B> mapToObj(DoubleFunction<? extends B> f);
+
+  /**
+   * If a failure value is present, apply the mapping function f to it.
+   * 
+   * @param <F> - The failure type of the result of the mapping function
+   * @param f   - a mapping function to apply to the failure value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <F> DoubleEither<F> mapF(Function<? super E, ? extends F> f);
+
+  /**
+   * If a success value is present, apply the mapping function f to it and
+   * return its result without wrapping it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  DoubleEither<E> flatMap(DoubleFunction<? extends DoubleEither<E>> f);
+
+  /**
+   * @return true if this DoubleEither is a failure value, otherwise false
+   */
+  boolean isFailure();
+
+  /**
+   * @return true if this DoubleEither is a success value, otherwise false
+   */
+  boolean isSuccess();
+
+  /**
+   * Consumes the success value, if present, otherwise no Operation.
+   * 
+   * @param consumer
+   */
+  void ifPresent(DoubleConsumer consumer);
+
+  /**
+   * @param other another DoubleEither
+   * @return other DoubleEither, if this DoubleEither contains a failure value. Otherwise this
+   *         DoubleEither.
+   */
+  DoubleEither<E> or(DoubleEither<E> other);
+
+  /**
+   * @param other
+   * @return the success value, if present, otherwise the provided default.
+   */
+  double getOrDefault(double other);
+
+  /**
+   * @return the boxed Either
+   */
+  Either<E, Double> toEither();
+
+  record Failure<E>(E value) implements DoubleEither<E> {
+
+    @Override
+    public DoubleEither<E> map(DoubleUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(DoubleFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Either.Failure<>(value);
+    }
+
+    @Override
+    public <F> DoubleEither<F> mapF(Function<? super E, ? extends F> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Failure<>(f.apply(value));
+    }
+
+    @Override
+    public DoubleEither<E> flatMap(DoubleFunction<? extends DoubleEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return false;
+    }
+
+    @Override
+    public void ifPresent(DoubleConsumer consumer) {
+      // noOp
+    }
+
+    @Override
+    public DoubleEither<E> or(DoubleEither<E> other) {
+      return other;
+    }
+
+    @Override
+    public double getOrDefault(double other) {
+      return other;
+    }
+
+    @Override
+    public Either<E, Double> toEither() {
+      return new Either.Failure<>(value);
+    }
+  }
+
+  record Success<E>(double value) implements DoubleEither<E> {
+
+    @Override
+    public DoubleEither<E> map(DoubleUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Success<>(f.applyAsDouble(value));
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(DoubleFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return Canonical.eitherSuccess(f.apply(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <F> DoubleEither<F> mapF(Function<? super E, ? extends F> f) {
+      return (DoubleEither<F>) this;
+    }
+
+    @Override
+    public DoubleEither<E> flatMap(DoubleFunction<? extends DoubleEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return f.apply(value);
+    }
+
+    @Override
+    public boolean isFailure() {
+      return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return true;
+    }
+
+    @Override
+    public void ifPresent(DoubleConsumer consumer) {
+      consumer.accept(value);
+    }
+
+    @Override
+    public DoubleEither<E> or(DoubleEither<E> other) {
+      return this;
+    }
+
+    @Override
+    public double getOrDefault(double other) {
+      return value;
+    }
+
+    @Override
+    public Either<E, Double> toEither() {
+      return Canonical.eitherSuccess(value);
+    }
+  }
+}
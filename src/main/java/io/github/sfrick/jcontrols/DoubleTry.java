@@ -0,0 +1,296 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A double specialization of {@link Try}, that holds its success value without
+ * boxing.
+ */
+public sealed interface DoubleTry permits DoubleTry.Failure, DoubleTry.Success {
+
+  /**
+   * @param value
+   * @return
+   */
+  static DoubleTry success(double value) {
+    return new Success(value);
+  }
+
+  /**
+   * @param cause
+   * @return
+   */
+  static DoubleTry failure(Throwable cause) {
+    return new Failure(cause);
+  }
+
+  static DoubleTry of(DoubleFunction0 work) {
+    Objects.requireNonNull(work);
+    try {
+      return new Success(work.apply());
+    } catch (Throwable t) {
+      return new Failure(t);
+    }
+  }
+
+  /**
+   * Converts a boxed Try. A null success value results in a Failure with a
+   * {@link NullPointerException}.
+   * 
+   * @param boxed
+   * @return
+   */
+  static DoubleTry fromTry(Try<Double> boxed) {
+    Objects.requireNonNull(boxed);
+    try {
+      return new Success(Traverse.unwrap(boxed));
+    } catch (Throwable t) {
+      return new Failure(t);
+    }
+  }
+
+  /**
+   * @param f
+   * @return
+   */
+  DoubleTry map(DoubleFunction1 f);
+
+  /**
+   * @param <B>
+   * @param f
+   * @return
+   */
+  <B> Try<B> mapToObj(DoubleFunction<? extends B> f);
+
+  /**
+   * @param f
+   * @return
+   */
+  DoubleTry flatMap(DoubleFunction<? extends DoubleTry> f);
+
+  DoubleTry filter(DoublePredicate predicate, Supplier<? extends Throwable> throwable);
+
+  /**
+   * Like {@link #filter(DoublePredicate, Supplier)}, but fails with an interned
+   * {@link StacklessException}.
+   * 
+   * @param predicate
+   * @param message
+   * @return
+   */
+  DoubleTry filter(DoublePredicate predicate, String message);
+
+  /**
+   * @param other
+   * @return
+   */
+  DoubleTry or(DoubleTry other);
+
+  /**
+   * @param other
+   * @return
+   */
+  double orElse(double other);
+
+  /**
+   * @param other
+   * @return
+   */
+  double orElse(DoubleSupplier other);
+
+  /**
+   * @return
+   */
+  boolean isFailure();
+
+  /**
+   * @return
+   */
+  boolean isSuccess();
+
+  /**
+   * @return the boxed Try
+   */
+  Try<Double> toTry();
+
+  /**
+   * @return
+   */
+  Either<Throwable, Double> toEither();
+
+  record Success(double value) implements DoubleTry {
+    @Override
+    public DoubleTry map(DoubleFunction1 f) {
+      Objects.requireNonNull(f);
+      try {
+        return new Success(f.apply(value));
+      } catch (Throwable cause) {
+        return new Failure(cause);
+      }
+    }
+
+    @Override
+    public <B> Try<B> mapToObj(DoubleFunction<? extends B> f) {
+      Objects.requireNonNull(f);
+      try {
+        return Canonical.trySuccess(f.apply(value));
+      } catch (Throwable cause) {
+        return new Try.Failure<>(cause);
+      }
+    }
+
+    @Override
+    public DoubleTry flatMap(DoubleFunction<? extends DoubleTry> f) {
+      Objects.requireNonNull(f);
+      try {
+        return f.apply(value);
+      } catch (Throwable cause) {
+        return new Failure(cause);
+      }
+    }
+
+    @Override
+    public DoubleTry filter(DoublePredicate predicate, Supplier<? extends Throwable> throwable) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(throwable);
+      return predicate.test(value) ? this : new Failure(throwable.get());
+    }
+
+    @Override
+    public DoubleTry filter(DoublePredicate predicate, String message) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(message);
+      return predicate.test(value) ? this : new Failure(StacklessException.of(message));
+    }
+
+    @Override
+    public DoubleTry or(DoubleTry other) {
+      return this;
+    }
+
+    @Override
+    public double orElse(double other) {
+      return value;
+    }
+
+    @Override
+    public double orElse(DoubleSupplier other) {
+      return value;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return true;
+    }
+
+    @Override
+    public Try<Double> toTry() {
+      return Try.success(value);
+    }
+
+    @Override
+    public Either<Throwable, Double> toEither() {
+      return Either.success(value);
+    }
+  }
+
+  record Failure(Throwable cause) implements DoubleTry {
+    @Override
+    public DoubleTry map(DoubleFunction1 f) {
+      Objects.requireNonNull(f);
+      return this;
+    }
+
+    @Override
+    public <B> Try<B> mapToObj(DoubleFunction<? extends B> f) {
+      Objects.requireNonNull(f);
+      return new Try.Failure<>(cause);
+    }
+
+    @Override
+    public DoubleTry flatMap(DoubleFunction<? extends DoubleTry> f) {
+      Objects.requireNonNull(f);
+      return this;
+    }
+
+    @Override
+    public DoubleTry filter(DoublePredicate predicate, Supplier<? extends Throwable> throwable) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(throwable);
+      return new Failure(throwable.get());
+    }
+
+    @Override
+    public DoubleTry filter(DoublePredicate predicate, String message) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(message);
+      return new Failure(StacklessException.of(message));
+    }
+
+    @Override
+    public DoubleTry or(DoubleTry other) {
+      Objects.requireNonNull(other);
+      return other;
+    }
+
+    @Override
+    public double orElse(double other) {
+      return other;
+    }
+
+    @Override
+    public double orElse(DoubleSupplier other) {
+      return other.getAsDouble();
+    }
+
+    @Override
+    public boolean isFailure() {
+      return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return false;
+    }
+
+    @Override
+    public Try<Double> toTry() {
+      return Try.failure(cause);
+    }
+
+    @Override
+    public Either<Throwable, Double> toEither() {
+      return Either.failure(cause);
+    }
+  }
+}
@@ -21,11 +21,13 @@
 // SOFTWARE.
 package io.github.sfrick.jcontrols;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 public sealed interface Either<E, A> permits Either.Failure, Either.Success {
 
@@ -38,7 +40,7 @@ public sealed interface Either<E, A> permits Either.Failure, Either.Success {
    * @return
    */
   static <E, A> Either<E, A> success(A value) {
-    return new Success<>(value);
+    return Canonical.eitherSuccess(value);
   }
 
   /**
@@ -71,10 +73,195 @@ public sealed interface Either<E, A> permits Either.Failure, Either.Success {
     if (optional.isEmpty()) {
       return new Failure<>(errorMessage);
     } else {
-      return new Success<>(optional.get());
+      return Canonical.eitherSuccess(optional.get());
     }
   }
 
+  /**
+   * Starts an empty, reusable {@link EitherPipeline}.
+   * 
+   * @param <E> The failure type of the pipeline's result
+   * @param <A> The input type of the pipeline
+   * @return an empty pipeline
+   */
+  static <E, A> EitherPipeline<E, A, A> pipeline() {
+    return EitherPipeline.identity();
+  }
+
+  /**
+   * Returns a {@link Collector} that splits Eithers into their failure and
+   * success values in a single pass.
+   * 
+   * @param <E> The failure type of the collected Eithers
+   * @param <A> The success type of the collected Eithers
+   * @return a collector into a {@link Partition}, both lists keep encounter
+   *         order
+   */
+  static <E, A> Collector<Either<E, A>, ?, Partition<E, A>> partition() {
+    return StreamCollectors.partition();
+  }
+
+  /**
+   * Returns a {@link Collector} that keeps only the success values.
+   * 
+   * @param <E> The failure type of the collected Eithers
+   * @param <A> The success type of the collected Eithers
+   * @return a collector into the list of success values in encounter order
+   */
+  static <E, A> Collector<Either<E, A>, ?, List<A>> successes() {
+    return StreamCollectors.successes();
+  }
+
+  /**
+   * Returns a {@link Collector} that collects all success values, if there is
+   * no failure, otherwise all failure values.
+   * 
+   * @param <E> The failure type of the collected Eithers
+   * @param <A> The success type of the collected Eithers
+   * @return a collector into Either.Success with all success values, if no
+   *         failure was collected, otherwise Either.Failure with all failure
+   *         values
+   */
+  static <E, A> Collector<Either<E, A>, ?, Either<List<E>, List<A>>> accumulate() {
+    return StreamCollectors.accumulate();
+  }
+
+  /**
+   * Runs the 2 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their success values. The first failure interrupts the
+   * other inputs.
+   * 
+   * @return the result of the combiner, otherwise the first failure in
+   *         completion order
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, R> Either<E, R> zip(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Function2<? super A1, ? super A2, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>eithers(new Supplier<?>[] { a1, a2 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1))));
+  }
+
+  /**
+   * Runs the 2 inputs concurrently and combines their success values. Unlike
+   * {@link #zip}, every input runs to completion.
+   * 
+   * @return the result of the combiner, otherwise all failures in the order of
+   *         the inputs
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, R> Either<List<E>, R> zipAccumulating(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Function2<? super A1, ? super A2, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>accumulate(new Supplier<?>[] { a1, a2 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1))));
+  }
+
+  /**
+   * Runs the 3 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their success values. The first failure interrupts the
+   * other inputs.
+   * 
+   * @return the result of the combiner, otherwise the first failure in
+   *         completion order
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, R> Either<E, R> zip(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Function3<? super A1, ? super A2, ? super A3, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>eithers(new Supplier<?>[] { a1, a2, a3 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2))));
+  }
+
+  /**
+   * Runs the 3 inputs concurrently and combines their success values. Unlike
+   * {@link #zip}, every input runs to completion.
+   * 
+   * @return the result of the combiner, otherwise all failures in the order of
+   *         the inputs
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, R> Either<List<E>, R> zipAccumulating(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Function3<? super A1, ? super A2, ? super A3, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>accumulate(new Supplier<?>[] { a1, a2, a3 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2))));
+  }
+
+  /**
+   * Runs the 4 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their success values. The first failure interrupts the
+   * other inputs.
+   * 
+   * @return the result of the combiner, otherwise the first failure in
+   *         completion order
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, A4, R> Either<E, R> zip(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Supplier<? extends Either<E, ? extends A4>> a4,
+      Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>eithers(new Supplier<?>[] { a1, a2, a3, a4 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3))));
+  }
+
+  /**
+   * Runs the 4 inputs concurrently and combines their success values. Unlike
+   * {@link #zip}, every input runs to completion.
+   * 
+   * @return the result of the combiner, otherwise all failures in the order of
+   *         the inputs
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, A4, R> Either<List<E>, R> zipAccumulating(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Supplier<? extends Either<E, ? extends A4>> a4,
+      Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>accumulate(new Supplier<?>[] { a1, a2, a3, a4 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3))));
+  }
+
+  /**
+   * Runs the 5 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their success values. The first failure interrupts the
+   * other inputs.
+   * 
+   * @return the result of the combiner, otherwise the first failure in
+   *         completion order
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, A4, A5, R> Either<E, R> zip(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Supplier<? extends Either<E, ? extends A4>> a4,
+      Supplier<? extends Either<E, ? extends A5>> a5,
+      Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>eithers(new Supplier<?>[] { a1, a2, a3, a4, a5 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3), (A5) v.get(4))));
+  }
+
+  /**
+   * Runs the 5 inputs concurrently and combines their success values. Unlike
+   * {@link #zip}, every input runs to completion.
+   * 
+   * @return the result of the combiner, otherwise all failures in the order of
+   *         the inputs
+   */
+  @SuppressWarnings("unchecked")
+  static <E, A1, A2, A3, A4, A5, R> Either<List<E>, R> zipAccumulating(Supplier<? extends Either<E, ? extends A1>> a1,
+      Supplier<? extends Either<E, ? extends A2>> a2,
+      Supplier<? extends Either<E, ? extends A3>> a3,
+      Supplier<? extends Either<E, ? extends A4>> a4,
+      Supplier<? extends Either<E, ? extends A5>> a5,
+      Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.<E>accumulate(new Supplier<?>[] { a1, a2, a3, a4, a5 }).map(v -> Zip.combine(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3), (A5) v.get(4))));
+  }
+
   /**
    * If a success value is present, apply the mapping function f to it.
    * 
@@ -180,6 +367,17 @@ public sealed interface Either<E, A> permits Either.Failure, Either.Success {
    */
   <F, B> Either<F, B> flatMap(Function<? super A, ? extends Either<F, B>> f);
 
+  /**
+   * The result of {@link Either#partition()}.
+   * 
+   * @param <E>       The failure type
+   * @param <A>       The success type
+   * @param failures  all failure values in encounter order
+   * @param successes all success values in encounter order
+   */
+  record Partition<E, A>(List<E> failures, List<A> successes) {
+  }
+
   record Failure<E, A>(E value) implements Either<E, A> {
 
     @Override
@@ -250,7 +448,7 @@ public sealed interface Either<E, A> permits Either.Failure, Either.Success {
     @Override
     public <F, B> Either<F, B> map(Function<? super A, ? extends B> f) {
       Objects.requireNonNull(f, "Mapper function is null.");
-      return new Success<>(f.apply(value));
+      return Canonical.eitherSuccess(f.apply(value));
     }
 
     @Override
@@ -0,0 +1,171 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A reusable chain of {@code map}, {@code flatMap} and {@code filter} stages
+ * that is built once and then applied to many inputs. Applying a pipeline runs
+ * all stages in a single pass and allocates only the resulting Either.
+ * 
+ * <pre>{@code
+ * EitherPipeline<String, String, Integer> parse = Either.<String, String>pipeline()
+ *     .map(String::trim)
+ *     .filter(s -> !s.isEmpty(), "empty")
+ *     .map(String::length);
+ *
+ * Either<String, Integer> result = parse.apply(" 42 ");
+ * }</pre>
+ *
+ * @param <E> the failure type of the pipeline's result
+ * @param <I> the input type of the pipeline
+ * @param <O> the success type of the pipeline's result
+ */
+public final class EitherPipeline<E, I, O> {
+
+  private static final byte MAP = 0;
+  private static final byte FLAT_MAP = 1;
+  private static final byte FILTER = 2;
+
+  private static final EitherPipeline<?, ?, ?> IDENTITY = new EitherPipeline<>(new byte[0], new Object[0],
+      new Object[0]);
+
+  private final byte[] kinds;
+  private final Object[] stages;
+  private final Object[] failures;
+
+  private EitherPipeline(byte[] kinds, Object[] stages, Object[] failures) {
+    this.kinds = kinds;
+    this.stages = stages;
+    this.failures = failures;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <E, A> EitherPipeline<E, A, A> identity() {
+    return (EitherPipeline<E, A, A>) IDENTITY;
+  }
+
+  /**
+   * Appends a mapping stage, see {@link Either#map(Function)}.
+   * 
+   * @param <B> the success type of the mapping function
+   * @param f   the mapping function
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if the mapping function is null
+   */
+  public <B> EitherPipeline<E, I, B> map(Function<? super O, ? extends B> f) {
+    Objects.requireNonNull(f, "Mapper function is null.");
+    return append(MAP, f, null);
+  }
+
+  /**
+   * Appends a flat mapping stage, see {@link Either#flatMap(Function)}.
+   * 
+   * @param <B> the success type of the mapping function
+   * @param f   the mapping function
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if the mapping function is null
+   */
+  public <B> EitherPipeline<E, I, B> flatMap(Function<? super O, ? extends Either<E, B>> f) {
+    Objects.requireNonNull(f, "Mapper function is null.");
+    return append(FLAT_MAP, f, null);
+  }
+
+  /**
+   * Appends a filter stage that turns a success value not matching the
+   * predicate into the given failure.
+   * 
+   * @param predicate
+   * @param failure   the failure value for non matching success values
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if one of the params are null
+   */
+  public EitherPipeline<E, I, O> filter(Predicate<? super O> predicate, E failure) {
+    Objects.requireNonNull(predicate);
+    Objects.requireNonNull(failure);
+    return append(FILTER, predicate, failure);
+  }
+
+  /**
+   * Runs all stages of this pipeline on the given input.
+   * 
+   * @param input
+   * @return Success with the result of the last stage, otherwise the Failure of
+   *         the first failing stage.
+   */
+  @SuppressWarnings("unchecked")
+  public Either<E, O> apply(I input) {
+    Object value = input;
+    for (int i = 0; i < kinds.length; i++) {
+      switch (kinds[i]) {
+        case MAP:
+          value = ((Function<Object, Object>) stages[i]).apply(value);
+          break;
+        case FLAT_MAP:
+          Either<E, Object> next = ((Function<Object, Either<E, Object>>) stages[i]).apply(value);
+          if (next instanceof Either.Success<E, Object> success) {
+            value = success.value();
+          } else {
+            return (Either<E, O>) Objects.requireNonNull(next);
+          }
+          break;
+        default:
+          if (!((Predicate<Object>) stages[i]).test(value)) {
+            return new Either.Failure<>((E) failures[i]);
+          }
+      }
+    }
+    return Canonical.eitherSuccess((O) value);
+  }
+
+  /**
+   * Runs all stages of this pipeline on the success value of the given Either.
+   * 
+   * @param input
+   * @return the result of {@link #apply(Object)}, if the input is a Success,
+   *         otherwise the origin casted Failure.
+   */
+  @SuppressWarnings("unchecked")
+  public Either<E, O> apply(Either<E, I> input) {
+    Objects.requireNonNull(input);
+    if (input instanceof Either.Success<E, I> success) {
+      return apply(success.value());
+    }
+    return (Either<E, O>) input;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <B> EitherPipeline<E, I, B> append(byte kind, Object stage, Object failure) {
+    int n = kinds.length;
+    byte[] k = Arrays.copyOf(kinds, n + 1);
+    Object[] s = Arrays.copyOf(stages, n + 1);
+    Object[] f = Arrays.copyOf(failures, n + 1);
+    k[n] = kind;
+    s[n] = stage;
+    f[n] = failure;
+    return (EitherPipeline<E, I, B>) new EitherPipeline<>(k, s, f);
+  }
+}
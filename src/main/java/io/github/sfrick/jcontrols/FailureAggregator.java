@@ -0,0 +1,300 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Deduplicates failures for reporting. Every failure is reduced to a
+ * {@link Fingerprint}, its exception class and top stack frames, and counted
+ * in a bounded table. Instead of one log entry per failure, the reporter gets
+ * one {@link Report} per interval with a count per fingerprint, so the cost
+ * of reporting stays flat while the failure rate spikes. Reports are handed to
+ * the reporter off the failing thread, so a slow or throwing reporter never
+ * affects the observed call.
+ * 
+ * <pre>{@code
+ * FailureAggregator failures = FailureAggregator.of(FailureAggregator.Config.defaults(),
+ *     report -> report.failures().forEach(s -> log.warn("{} x {}: {}", s.count(), s.fingerprint(), s.message())));
+ * Try<User> user = failures.observe(Try.of(() -> users.load(id)));
+ * }</pre>
+ */
+public final class FailureAggregator {
+
+  /**
+   * @param frames          the number of top stack frames in a fingerprint
+   * @param maxFingerprints the maximum number of fingerprints counted at once,
+   *                        failures beyond are only counted as untracked
+   * @param reportInterval  the minimum time between two reports
+   */
+  public record Config(int frames, int maxFingerprints, Duration reportInterval) {
+
+    public Config {
+      if (frames < 0) {
+        throw new IllegalArgumentException("frames must not be negative");
+      }
+      if (maxFingerprints < 1) {
+        throw new IllegalArgumentException("maxFingerprints must be positive");
+      }
+      Objects.requireNonNull(reportInterval);
+    }
+
+    /**
+     * 5 frames, 1024 fingerprints, one report per minute.
+     * 
+     * @return the default configuration
+     */
+    public static Config defaults() {
+      return new Config(5, 1024, Duration.ofMinutes(1));
+    }
+
+    public Config withFrames(int frames) {
+      return new Config(frames, maxFingerprints, reportInterval);
+    }
+
+    public Config withMaxFingerprints(int maxFingerprints) {
+      return new Config(frames, maxFingerprints, reportInterval);
+    }
+
+    public Config withReportInterval(Duration reportInterval) {
+      return new Config(frames, maxFingerprints, reportInterval);
+    }
+  }
+
+  /**
+   * The identity of a failure.
+   * 
+   * @param type   the exception class
+   * @param frames the top stack frames, empty for stackless exceptions
+   */
+  public record Fingerprint(Class<?> type, List<StackTraceElement> frames) {
+
+    @Override
+    public String toString() {
+      return frames.isEmpty() ? type.getName() : type.getName() + " at " + frames.get(0);
+    }
+  }
+
+  /**
+   * @param fingerprint the type and top frames shared by the failures
+   * @param count       the number of failures since the last report
+   * @param message     the message of the first failure with this fingerprint
+   */
+  public record Summary(Fingerprint fingerprint, long count, String message) {
+  }
+
+  /**
+   * @param failures  the fingerprints seen since the last report, most
+   *                  frequent first
+   * @param untracked the number of failures not counted, because the table was
+   *                  full
+   */
+  public record Report(List<Summary> failures, long untracked) {
+  }
+
+  /**
+   * A count of -1 marks a counter drained and removed by a report, a recorder
+   * finding it looks up the fingerprint again.
+   */
+  private static final class Counter {
+    private static final long RETIRED = -1;
+
+    private final AtomicLong count = new AtomicLong();
+    private final String message;
+
+    private Counter(String message) {
+      this.message = message;
+    }
+
+    boolean increment() {
+      long current;
+      do {
+        current = count.get();
+        if (current == RETIRED) {
+          return false;
+        }
+      } while (!count.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    /**
+     * @return the count since the last drain, or {@link #RETIRED}
+     */
+    long drain() {
+      long current;
+      do {
+        current = count.get();
+        if (current <= 0) {
+          return current;
+        }
+      } while (!count.compareAndSet(current, 0));
+      return current;
+    }
+  }
+
+  private final Config config;
+  private final long intervalNanos;
+  private final Consumer<? super Report> reporter;
+  private final ConcurrentHashMap<Fingerprint, Counter> table = new ConcurrentHashMap<>();
+  private final LongAdder untracked = new LongAdder();
+  private final AtomicLong nextReport;
+  private final ReentrantLock reporting = new ReentrantLock();
+
+  private FailureAggregator(Config config, Consumer<? super Report> reporter) {
+    this.config = config;
+    this.intervalNanos = config.reportInterval().toNanos();
+    this.reporter = reporter;
+    this.nextReport = new AtomicLong(System.nanoTime() + intervalNanos);
+  }
+
+  /**
+   * @param config   the fingerprint depth, table size and report interval
+   * @param reporter receives a report at most once per interval, on a thread
+   *                 of its own, one report at a time
+   * @return a new aggregator with an empty table
+   */
+  public static FailureAggregator of(Config config, Consumer<? super Report> reporter) {
+    Objects.requireNonNull(config);
+    Objects.requireNonNull(reporter);
+    return new FailureAggregator(config, reporter);
+  }
+
+  /**
+   * Records the cause, if the result is a Failure.
+   * 
+   * @param <A>    the type of the result
+   * @param result the result to observe
+   * @return the result
+   */
+  public <A> Try<A> observe(Try<A> result) {
+    if (result instanceof Try.Failure<A> failure) {
+      record(failure.cause());
+    }
+    return result;
+  }
+
+  /**
+   * Counts the failure under its fingerprint and reports, if the interval has
+   * passed.
+   * 
+   * @param cause the failure to count
+   */
+  public void record(Throwable cause) {
+    Objects.requireNonNull(cause);
+    Fingerprint fingerprint = fingerprint(cause);
+    while (true) {
+      Counter counter = table.get(fingerprint);
+      if (counter == null && table.size() < config.maxFingerprints()) {
+        counter = table.computeIfAbsent(fingerprint, f -> new Counter(cause.getMessage()));
+      }
+      if (counter == null) {
+        untracked.increment();
+        break;
+      }
+      if (counter.increment()) {
+        break;
+      }
+      table.remove(fingerprint, counter);
+    }
+    long next = nextReport.get();
+    long now = System.nanoTime();
+    if (now - next >= 0 && nextReport.compareAndSet(next, now + intervalNanos)) {
+      Report report = drain();
+      if (report != null) {
+        try {
+          DefaultExecutor.get().execute(() -> deliver(report));
+        } catch (RejectedExecutionException e) {
+          deliver(report);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reports the failures counted since the last report now, on the calling
+   * thread, e.g. on shutdown.
+   */
+  public void flush() {
+    nextReport.set(System.nanoTime() + intervalNanos);
+    Report report = drain();
+    if (report != null) {
+      deliver(report);
+    }
+  }
+
+  Fingerprint fingerprint(Throwable cause) {
+    StackTraceElement[] trace = cause.getStackTrace();
+    int frames = Math.min(trace.length, config.frames());
+    return new Fingerprint(cause.getClass(), List.of(Arrays.copyOf(trace, frames)));
+  }
+
+  /**
+   * Drains the counters. Fingerprints without failures in the last interval
+   * are retired and dropped from the table, so it holds the recent ones only.
+   * 
+   * @return the report, or null if there were no failures
+   */
+  private Report drain() {
+    List<Summary> summaries = new ArrayList<>();
+    table.forEach((fingerprint, counter) -> {
+      long count = counter.drain();
+      if (count > 0) {
+        summaries.add(new Summary(fingerprint, count, counter.message));
+      } else if (count == 0 && counter.count.compareAndSet(0, Counter.RETIRED)) {
+        table.remove(fingerprint, counter);
+      }
+    });
+    long dropped = untracked.sumThenReset();
+    if (summaries.isEmpty() && dropped == 0) {
+      return null;
+    }
+    summaries.sort((a, b) -> Long.compare(b.count(), a.count()));
+    return new Report(Collections.unmodifiableList(summaries), dropped);
+  }
+
+  /**
+   * Hands the report to the reporter. An exception of the reporter goes to the
+   * uncaught exception handler of the thread, not to the observed call.
+   */
+  private void deliver(Report report) {
+    reporting.lock();
+    try {
+      reporter.accept(report);
+    } catch (Throwable e) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    } finally {
+      reporting.unlock();
+    }
+  }
+}
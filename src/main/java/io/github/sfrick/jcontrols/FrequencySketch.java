@@ -0,0 +1,100 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+/**
+ * A count-min sketch estimating how often a key was seen recently, the
+ * admission filter of {@link MemoCache}. Four rows of 4 bit counters, packed
+ * sixteen to a long, are indexed by differently mixed hashes, the estimate is
+ * the minimum of the four counters. Once the number of increments reaches ten
+ * times the cache size all counters are halved, so old popularity fades.
+ * <p>
+ * Updates are racy, a lost increment only makes an estimate slightly lower.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+      0xcbf29ce484222325L };
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private final long[] table;
+  private final int mask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(int maximumSize) {
+    int size = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 24)) - 1) << 1;
+    this.table = new long[size];
+    this.mask = size - 1;
+    this.sampleSize = 10 * Math.max(maximumSize, 1);
+  }
+
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int row = 0; row < 4; row++) {
+      added |= incrementAt(index(hash, row), offset(hash, row));
+    }
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = 15;
+    for (int row = 0; row < 4; row++) {
+      frequency = Math.min(frequency, (int) ((table[index(hash, row)] >>> offset(hash, row)) & 0xf));
+    }
+    return frequency;
+  }
+
+  private boolean incrementAt(int index, int offset) {
+    long counter = 0xfL << offset;
+    if ((table[index] & counter) != counter) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  private int index(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  private static int offset(int hash, int row) {
+    return (((hash >>> (row * 8)) & 3) << 2 | row) << 2;
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions /= 2;
+  }
+
+  private static int spread(int hash) {
+    hash *= 0x9e3779b9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -21,9 +21,24 @@
 // SOFTWARE.
 package io.github.sfrick.jcontrols;
 
+import java.util.Objects;
+
 @FunctionalInterface
 public interface Function1<T1, R> {
 
   R apply(T1 t1) throws Throwable;
 
+  /**
+   * Memoizes this function in a bounded, thread safe cache. Arguments are compared
+   * with {@code equals}.
+   * 
+   * @param spec
+   * @return a function returning the cached result for arguments seen before,
+   *         otherwise the result of this function
+   */
+  default Function1<T1, R> memoized(CacheSpec spec) {
+    Objects.requireNonNull(spec);
+    MemoCache<Object, R> cache = new MemoCache<>(spec);
+    return t1 -> cache.get(t1, () -> apply(t1));
+  }
 }
@@ -21,9 +21,24 @@
 // SOFTWARE.
 package io.github.sfrick.jcontrols;
 
+import java.util.Objects;
+
 @FunctionalInterface
 public interface Function3<T1, T2, T3, R> {
 
   R apply(T1 t1, T2 t2, T3 t3) throws Throwable;
 
+  /**
+   * Memoizes this function in a bounded, thread safe cache. Arguments are compared
+   * with {@code equals}, as elements of a tuple key.
+   * 
+   * @param spec
+   * @return a function returning the cached result for arguments seen before,
+   *         otherwise the result of this function
+   */
+  default Function3<T1, T2, T3, R> memoized(CacheSpec spec) {
+    Objects.requireNonNull(spec);
+    MemoCache<MemoCache.Key3, R> cache = new MemoCache<>(spec);
+    return (t1, t2, t3) -> cache.get(new MemoCache.Key3(t1, t2, t3), () -> apply(t1, t2, t3));
+  }
 }
@@ -0,0 +1,168 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when {@link Try#hedged(Function0, HedgePolicy)} starts a second,
+ * speculative attempt. The delay is either fixed or follows a percentile of
+ * the latencies of the recent calls. A budget caps the hedged attempts to a
+ * percentage of all calls, 10% by default, so a slow downstream service does
+ * not get twice the load. The first few hedges are allowed regardless of the
+ * percentage, 3 by default, so the slow calls right after startup can be
+ * hedged before enough calls have been seen.
+ * <p>
+ * A policy is stateful and thread safe, share one instance per downstream
+ * service.
+ */
+public final class HedgePolicy {
+
+  private static final int SAMPLES = 128;
+  private static final int RECOMPUTE_EVERY = 16;
+  private static final int MIN_HEDGES = 3;
+
+  private final long fixedDelay;
+  private final double percentile;
+  private final double budget;
+  private final int minHedges;
+
+  private final LongAdder calls = new LongAdder();
+  private final AtomicLong hedges = new AtomicLong();
+  private final AtomicLongArray latencies;
+  private final AtomicLong recorded = new AtomicLong();
+  private volatile long delay;
+
+  private HedgePolicy(long fixedDelay, double percentile, double budget, int minHedges) {
+    this.fixedDelay = fixedDelay;
+    this.percentile = percentile;
+    this.budget = budget;
+    this.minHedges = minHedges;
+    this.latencies = percentile > 0 ? new AtomicLongArray(SAMPLES) : null;
+    this.delay = fixedDelay;
+  }
+
+  /**
+   * @param delay
+   * @return a policy hedging every call that has not finished after delay
+   */
+  public static HedgePolicy after(Duration delay) {
+    Objects.requireNonNull(delay);
+    return new HedgePolicy(delay.toNanos(), 0, 10, MIN_HEDGES);
+  }
+
+  /**
+   * @param percentile   the latency percentile of the recent calls, e.g. 95
+   * @param initialDelay the delay used until enough calls have been observed
+   * @return a policy hedging every call that is slower than the given
+   *         percentile of the recent calls
+   */
+  public static HedgePolicy percentile(double percentile, Duration initialDelay) {
+    Objects.requireNonNull(initialDelay);
+    if (!(percentile > 0 && percentile < 100)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    return new HedgePolicy(initialDelay.toNanos(), percentile, 10, MIN_HEDGES);
+  }
+
+  /**
+   * @param percentOfCalls the maximum share of calls that get hedged, 0
+   *                       disables hedging
+   * @return a new policy with the given budget and no recorded state
+   */
+  public HedgePolicy withBudget(double percentOfCalls) {
+    return withBudget(percentOfCalls, minHedges);
+  }
+
+  /**
+   * @param percentOfCalls the maximum share of calls that get hedged, 0
+   *                       disables hedging
+   * @param minHedges      the number of hedges allowed regardless of the
+   *                       share, to hedge calls during warm-up
+   * @return a new policy with the given budget and no recorded state
+   */
+  public HedgePolicy withBudget(double percentOfCalls, int minHedges) {
+    if (!(percentOfCalls >= 0 && percentOfCalls <= 100)) {
+      throw new IllegalArgumentException("percentOfCalls must be between 0 and 100");
+    }
+    if (minHedges < 0) {
+      throw new IllegalArgumentException("minHedges must not be negative");
+    }
+    return new HedgePolicy(fixedDelay, percentile, percentOfCalls, minHedges);
+  }
+
+  /**
+   * @return the current delay before a hedged attempt starts
+   */
+  public Duration delay() {
+    return Duration.ofNanos(delay);
+  }
+
+  /**
+   * @return the number of hedged attempts started so far
+   */
+  public long hedgedCalls() {
+    return hedges.get();
+  }
+
+  long delayNanos() {
+    return delay;
+  }
+
+  void onCall() {
+    calls.increment();
+  }
+
+  boolean tryHedge() {
+    while (true) {
+      long current = hedges.get();
+      if (budget == 0 || current + 1 > Math.max(minHedges, calls.sum() * budget / 100)) {
+        return false;
+      }
+      if (hedges.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  void record(long latencyNanos) {
+    if (latencies == null) {
+      return;
+    }
+    long count = recorded.incrementAndGet();
+    latencies.set((int) ((count - 1) % SAMPLES), latencyNanos);
+    if (count % RECOMPUTE_EVERY == 0) {
+      int size = (int) Math.min(count, SAMPLES);
+      long[] sorted = new long[size];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = latencies.get(i);
+      }
+      Arrays.sort(sorted);
+      delay = sorted[(int) Math.min(size - 1, Math.ceil(size * percentile / 100) - 1)];
+    }
+  }
+}
@@ -0,0 +1,242 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link TryMetrics} recorder keeping counters and latency histograms per
+ * call name in memory. Counters are striped {@link LongAdder}s, latencies go
+ * into a lock free histogram with logarithmic buckets, four per power of two,
+ * so a percentile is accurate to 25%.
+ * 
+ * <pre>{@code
+ * InMemoryTryMetrics metrics = new InMemoryTryMetrics();
+ * TryMetrics.install(metrics);
+ * Try<User> user = Try.of("users.load", () -> users.load(id));
+ * long p99 = metrics.snapshot().get("users.load").latency().percentile(99);
+ * }</pre>
+ */
+public final class InMemoryTryMetrics implements TryMetrics {
+
+  static final int BUCKETS = 256;
+
+  /**
+   * The latencies of one call name.
+   * 
+   * @param count  the number of recorded latencies
+   * @param sum    the sum of all latencies in nanoseconds
+   * @param max    the maximum latency in nanoseconds
+   * @param counts the number of latencies per bucket, see
+   *               {@link #upperBound(int)}
+   */
+  public record Histogram(long count, long sum, long max, long[] counts) {
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, in
+     *         nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+      long total = 0;
+      for (long c : counts) {
+        total += c;
+      }
+      long rank = (long) Math.ceil(total * percentile / 100);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank && counts[i] > 0) {
+          return Math.min(upperBound(i), max);
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * @param bucket
+     * @return the largest latency in nanoseconds counted in the bucket
+     */
+    public static long upperBound(int bucket) {
+      if (bucket < 4) {
+        return bucket;
+      }
+      int shift = bucket / 4 - 1;
+      long lower = (4L + (bucket & 3)) << shift;
+      return lower + (1L << shift) - 1;
+    }
+  }
+
+  /**
+   * The metrics of one call name.
+   * 
+   * @param successes the number of successful calls
+   * @param failures  the number of failed calls by exception class name
+   * @param latency   the latencies of all calls
+   */
+  public record Series(long successes, Map<String, Long> failures, Histogram latency) {
+
+    /**
+     * @return the number of failed calls
+     */
+    public long failureCount() {
+      long total = 0;
+      for (long count : failures.values()) {
+        total += count;
+      }
+      return total;
+    }
+  }
+
+  private static final class Recorder {
+    private final LongAdder successes = new LongAdder();
+    private final ConcurrentHashMap<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void latency(long nanos) {
+      buckets.incrementAndGet(bucket(nanos));
+      sum.add(nanos);
+      max.accumulate(nanos);
+    }
+
+    void failure(Class<?> type) {
+      LongAdder counter = failures.get(type);
+      if (counter == null) {
+        counter = failures.computeIfAbsent(type, t -> new LongAdder());
+      }
+      counter.increment();
+    }
+
+    Series snapshot() {
+      Map<String, Long> failed = new TreeMap<>();
+      failures.forEach((type, counter) -> failed.put(type.getName(), counter.sum()));
+      long[] counts = new long[BUCKETS];
+      long count = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] = buckets.get(i);
+        count += counts[i];
+      }
+      return new Series(successes.sum(), Collections.unmodifiableMap(failed),
+          new Histogram(count, sum.sum(), max.get(), counts));
+    }
+  }
+
+  private final ConcurrentHashMap<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+  static int bucket(long nanos) {
+    if (nanos < 4) {
+      return (int) Math.max(0, nanos);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    return (exponent - 1) * 4 + (int) ((nanos >>> (exponent - 2)) & 3);
+  }
+
+  private Recorder recorder(String name) {
+    Recorder recorder = recorders.get(name);
+    return recorder != null ? recorder : recorders.computeIfAbsent(name, n -> new Recorder());
+  }
+
+  @Override
+  public void onSuccess(String name, long latencyNanos) {
+    Recorder recorder = recorder(name);
+    recorder.successes.increment();
+    recorder.latency(latencyNanos);
+  }
+
+  @Override
+  public void onFailure(String name, long latencyNanos, Throwable cause) {
+    Recorder recorder = recorder(name);
+    recorder.failure(cause.getClass());
+    recorder.latency(latencyNanos);
+  }
+
+  /**
+   * A snapshot is not atomic across counters, calls recorded concurrently may
+   * be counted in one counter but not yet in another.
+   * 
+   * @return the metrics of every call name, sorted by name
+   */
+  public Map<String, Series> snapshot() {
+    Map<String, Series> snapshot = new TreeMap<>();
+    recorders.forEach((name, recorder) -> snapshot.put(name, recorder.snapshot()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Exports a snapshot in the Prometheus text exposition format, as counters
+   * {@code try_calls_total} and summaries {@code try_latency_seconds}.
+   * 
+   * @return
+   */
+  public String export() {
+    StringBuilder out = new StringBuilder();
+    out.append("# TYPE try_calls_total counter\n");
+    Map<String, Series> snapshot = snapshot();
+    snapshot.forEach((name, series) -> {
+      line(out, "try_calls_total", name, "outcome=\"success\"", Long.toString(series.successes()));
+      series.failures().forEach((type, count) -> line(out, "try_calls_total", name,
+          "outcome=\"failure\",exception=\"" + type + "\"", Long.toString(count)));
+    });
+    out.append("# TYPE try_latency_seconds summary\n");
+    snapshot.forEach((name, series) -> {
+      Histogram latency = series.latency();
+      for (double quantile : new double[] { 0.5, 0.9, 0.99 }) {
+        line(out, "try_latency_seconds", name, "quantile=\"" + quantile + "\"",
+            seconds(latency.percentile(quantile * 100)));
+      }
+      line(out, "try_latency_seconds_sum", name, null, seconds(latency.sum()));
+      line(out, "try_latency_seconds_count", name, null, Long.toString(latency.count()));
+    });
+    return out.toString();
+  }
+
+  /**
+   * Removes all recorded metrics.
+   */
+  public void reset() {
+    recorders.clear();
+  }
+
+  private static void line(StringBuilder out, String metric, String name, String labels, String value) {
+    out.append(metric).append("{name=\"").append(escape(name)).append('"');
+    if (labels != null) {
+      out.append(',').append(labels);
+    }
+    out.append("} ").append(value).append('\n');
+  }
+
+  private static String escape(String label) {
+    return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String seconds(long nanos) {
+    return Double.toString(nanos / 1e9);
+  }
+}
@@ -0,0 +1,120 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+/**
+ * The instrumentation of {@link Try} and the {@code WithResouce} records:
+ * the installed {@link TryMetrics}, the spans of {@link Tracing} and the JFR
+ * events {@link TryFailureEvent}, {@link TryExecutionEvent} and
+ * {@link ResourceLeaseEvent}. Every hook is gated by a single read, the
+ * installed recorder, tracer or the enablement of the event type, so it costs
+ * next to nothing while nothing is listening.
+ * <p>
+ * The event types live in {@link JfrEvents}, which is only initialized if the
+ * {@code jdk.jfr} module is present, so this class and the core types using
+ * it do not depend on it.
+ */
+final class Instrumentation {
+
+  static volatile TryMetrics metrics;
+
+  private static final boolean JFR = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+  private Instrumentation() {
+  }
+
+  /**
+   * @param name  the name of the call, or null
+   * @param cause
+   * @return a Failure of the cause, after emitting a {@link TryFailureEvent}
+   */
+  static <A> Try<A> failure(String name, Throwable cause) {
+    if (JFR && !isInternal(cause)) {
+      JfrEvents.failure(name, cause);
+    }
+    return new Try.Failure<>(cause);
+  }
+
+  static <A> Try<A> run(String name, Function0<A> work) {
+    TryMetrics recorder = metrics;
+    Object event = JFR ? JfrEvents.beginExecution() : null;
+    Tracing.Scope span = Tracing.open(name);
+    if (recorder == null && event == null && span == null) {
+      return attempt(name, work);
+    }
+    long start = System.nanoTime();
+    Try<A> result = attempt(name, work);
+    long latency = System.nanoTime() - start;
+    if (span != null) {
+      span.close(result.isSuccess());
+    }
+    if (event != null) {
+      JfrEvents.endExecution(event, name, result.isSuccess());
+    }
+    if (recorder != null) {
+      if (result instanceof Try.Failure<A> failure) {
+        if (!isInternal(failure.cause())) {
+          recorder.onFailure(name, latency, failure.cause());
+        }
+      } else {
+        recorder.onSuccess(name, latency);
+      }
+    }
+    return result;
+  }
+
+  private static <A> Try<A> attempt(String name, Function0<A> work) {
+    try {
+      return Canonical.trySuccess(work.apply());
+    } catch (Throwable cause) {
+      return failure(name, cause);
+    }
+  }
+
+  /**
+   * @return true for the control flow exceptions the library routes through
+   *         Try internally, which are not failures of user code
+   */
+  private static boolean isInternal(Throwable cause) {
+    return cause instanceof Zip.FailedEither;
+  }
+
+  /**
+   * @return true if the {@code WithResouce} records should take the timed path
+   *         of {@link Resources#leased}
+   */
+  static boolean leaseEnabled() {
+    return JFR && JfrEvents.leaseEnabled();
+  }
+
+  /**
+   * @return a begun {@link ResourceLeaseEvent}, only called if
+   *         {@link #leaseEnabled()}
+   */
+  static Object beginLease() {
+    return JfrEvents.beginLease();
+  }
+
+  static void lease(Object event, int resources, long open, long work, long close, boolean success) {
+    JfrEvents.endLease(event, resources, open, work, close, success);
+  }
+}
@@ -0,0 +1,263 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An int specialization of {@link Either}, that holds its success value
+ * without boxing.
+ * 
+ * @param <E> The failure type
+ */
+public sealed interface IntEither<E> permits IntEither.Failure, IntEither.Success {
+
+  /**
+   * Constructs an IntEither from a success value.
+   * 
+   * @param <E>   The failure type of the constructed IntEither
+   * @param value the success value from which the IntEither will be constructed.
+   * @return
+   */
+  static <E> IntEither<E> success(int value) {
+    return new Success<>(value);
+  }
+
+  /**
+   * Constructs an IntEither from a failure value.
+   * 
+   * @param <E>     The failure type of the constructed IntEither
+   * @param failure the failure value from which the IntEither will be constructed.
+   * @return
+   */
+  static <E> IntEither<E> failure(E failure) {
+    return new Failure<>(failure);
+  }
+
+  /**
+   * Constructs an IntEither from a boxed Either.
+   * 
+   * @param <E>    The failure type of the constructed IntEither
+   * @param either the boxed Either
+   * @return
+   * @throws NullPointerException - if the either or its success value is null
+   */
+  static <E> IntEither<E> fromEither(Either<E, Integer> either) {
+    Objects.requireNonNull(either);
+    if (either instanceof Either.Success<E, Integer> success) {
+      return new Success<>(success.value());
+    }
+    return new Failure<>(((Either.Failure<E, Integer>) either).value());
+  }
+
+  /**
+   * If a success value is present, apply the mapping function f to it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  IntEither<E> map(IntUnaryOperator f);
+
+  /**
+   * If a success value is present, apply the boxing mapping function f to it.
+   * 
+   * @param <B> - The success type of the result of the mapping function
+   * @param f   - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <B> Either<E, B> mapToObj(IntFunction<? extends B> f);
+
+  /**
+   * If a failure value is present, apply the mapping function f to it.
+   * 
+   * @param <F> - The failure type of the result of the mapping function
+   * @param f   - a mapping function to apply to the failure value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <F> IntEither<F> mapF(Function<? super E, ? extends F> f);
+
+  /**
+   * If a success value is present, apply the mapping function f to it and
+   * return its result without wrapping it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  IntEither<E> flatMap(IntFunction<? extends IntEither<E>> f);
+
+  /**
+   * @return true if this IntEither is a failure value, otherwise false
+   */
+  boolean isFailure();
+
+  /**
+   * @return true if this IntEither is a success value, otherwise false
+   */
+  boolean isSuccess();
+
+  /**
+   * Consumes the success value, if present, otherwise no Operation.
+   * 
+   * @param consumer
+   */
+  void ifPresent(IntConsumer consumer);
+
+  /**
+   * @param other another IntEither
+   * @return other IntEither, if this IntEither contains a failure value. Otherwise this
+   *         IntEither.
+   */
+  IntEither<E> or(IntEither<E> other);
+
+  /**
+   * @param other
+   * @return the success value, if present, otherwise the provided default.
+   */
+  int getOrDefault(int other);
+
+  /**
+   * @return the boxed Either
+   */
+  Either<E, Integer> toEither();
+
+  record Failure<E>(E value) implements IntEither<E> {
+
+    @Override
+    public IntEither<E> map(IntUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(IntFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Either.Failure<>(value);
+    }
+
+    @Override
+    public <F> IntEither<F> mapF(Function<? super E, ? extends F> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Failure<>(f.apply(value));
+    }
+
+    @Override
+    public IntEither<E> flatMap(IntFunction<? extends IntEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return false;
+    }
+
+    @Override
+    public void ifPresent(IntConsumer consumer) {
+      // noOp
+    }
+
+    @Override
+    public IntEither<E> or(IntEither<E> other) {
+      return other;
+    }
+
+    @Override
+    public int getOrDefault(int other) {
+      return other;
+    }
+
+    @Override
+    public Either<E, Integer> toEither() {
+      return new Either.Failure<>(value);
+    }
+  }
+
+  record Success<E>(int value) implements IntEither<E> {
+
+    @Override
+    public IntEither<E> map(IntUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Success<>(f.applyAsInt(value));
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(IntFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return Canonical.eitherSuccess(f.apply(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <F> IntEither<F> mapF(Function<? super E, ? extends F> f) {
+      return (IntEither<F>) this;
+    }
+
+    @Override
+    public IntEither<E> flatMap(IntFunction<? extends IntEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return f.apply(value);
+    }
+
+    @Override
+    public boolean isFailure() {
+      return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return true;
+    }
+
+    @Override
+    public void ifPresent(IntConsumer consumer) {
+      consumer.accept(value);
+    }
+
+    @Override
+    public IntEither<E> or(IntEither<E> other) {
+      return this;
+    }
+
+    @Override
+    public int getOrDefault(int other) {
+      return value;
+    }
+
+    @Override
+    public Either<E, Integer> toEither() {
+      return Canonical.eitherSuccess(value);
+    }
+  }
+}
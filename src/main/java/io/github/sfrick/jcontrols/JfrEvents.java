@@ -0,0 +1,98 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import jdk.jfr.EventType;
+
+/**
+ * Holds the JFR event types for {@link Instrumentation}, which only touches
+ * this class once it found the {@code jdk.jfr} module, so the core types also
+ * run on runtimes without it.
+ */
+final class JfrEvents {
+
+  private static final EventType FAILURE = EventType.getEventType(TryFailureEvent.class);
+  private static final EventType EXECUTION = EventType.getEventType(TryExecutionEvent.class);
+  private static final EventType LEASE = EventType.getEventType(ResourceLeaseEvent.class);
+
+  private JfrEvents() {
+  }
+
+  static void failure(String name, Throwable cause) {
+    if (FAILURE.isEnabled()) {
+      TryFailureEvent event = new TryFailureEvent();
+      if (event.shouldCommit()) {
+        StackTraceElement[] trace = cause.getStackTrace();
+        event.name = name;
+        event.exceptionClass = cause.getClass();
+        event.message = cause.getMessage();
+        event.origin = trace.length == 0 ? "" : trace[0].toString();
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * @return a begun {@link TryExecutionEvent}, or null if it is disabled
+   */
+  static Object beginExecution() {
+    if (!EXECUTION.isEnabled()) {
+      return null;
+    }
+    TryExecutionEvent event = new TryExecutionEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endExecution(Object begun, String name, boolean success) {
+    TryExecutionEvent event = (TryExecutionEvent) begun;
+    event.end();
+    if (event.shouldCommit()) {
+      event.name = name;
+      event.success = success;
+      event.commit();
+    }
+  }
+
+  static boolean leaseEnabled() {
+    return LEASE.isEnabled();
+  }
+
+  static Object beginLease() {
+    ResourceLeaseEvent event = new ResourceLeaseEvent();
+    event.begin();
+    return event;
+  }
+
+  static void endLease(Object begun, int resources, long open, long work, long close, boolean success) {
+    ResourceLeaseEvent event = (ResourceLeaseEvent) begun;
+    event.end();
+    if (event.shouldCommit()) {
+      event.resources = resources;
+      event.open = open;
+      event.work = work;
+      event.close = close;
+      event.success = success;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A deferred Try, see {@link Try#lazy(Function0)}. The work runs at most once,
+ * on the first {@link #get()}, even if many threads call it at the same time.
+ * Once evaluated, the result is memoized and read without locking.
+ * <p>
+ * A LazyTry is not a {@link Try} itself, {@link #get()} returns a plain
+ * {@link Try.Success} or {@link Try.Failure}. As a {@link Supplier} it can be
+ * passed to {@link Try#or(Supplier)} as a fallback that only runs if needed.
+ */
+public final class LazyTry<A> implements Supplier<Try<A>> {
+  private final ReentrantLock lock = new ReentrantLock();
+  private Supplier<? extends Try<A>> thunk;
+  private volatile Try<A> result;
+
+  LazyTry(Supplier<? extends Try<A>> thunk) {
+    this.thunk = thunk;
+  }
+
+  /**
+   * Runs the deferred work, if it has not run yet.
+   * 
+   * @return the memoized Success or Failure
+   */
+  @Override
+  public Try<A> get() {
+    Try<A> evaluated = result;
+    if (evaluated != null) {
+      return evaluated;
+    }
+    lock.lock();
+    try {
+      evaluated = result;
+      if (evaluated == null) {
+        evaluated = Objects.requireNonNull(thunk.get());
+        result = evaluated;
+        thunk = null;
+      }
+      return evaluated;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return true if the deferred work has already run
+   */
+  public boolean isEvaluated() {
+    return result != null;
+  }
+
+  public <B> LazyTry<B> map(Function<? super A, ? extends B> f) {
+    Objects.requireNonNull(f);
+    return new LazyTry<>(() -> get().map(f));
+  }
+
+  public <B> LazyTry<B> flatMap(Function<? super A, ? extends Try<B>> f) {
+    Objects.requireNonNull(f);
+    return new LazyTry<>(() -> get().flatMap(f));
+  }
+
+  public LazyTry<A> filter(Predicate<A> predicate, Supplier<? extends Throwable> throwable) {
+    Objects.requireNonNull(predicate);
+    Objects.requireNonNull(throwable);
+    return new LazyTry<>(() -> get().filter(predicate, throwable));
+  }
+
+  public LazyTry<A> filter(Predicate<A> predicate, String message) {
+    Objects.requireNonNull(predicate);
+    Objects.requireNonNull(message);
+    return new LazyTry<>(() -> get().filter(predicate, message));
+  }
+
+  public LazyTry<A> or(Supplier<Try<A>> other) {
+    Objects.requireNonNull(other);
+    return new LazyTry<>(() -> get().or(other));
+  }
+
+  @Override
+  public String toString() {
+    Try<A> evaluated = result;
+    return evaluated == null ? "LazyTry[?]" : "LazyTry[" + evaluated + "]";
+  }
+}
@@ -0,0 +1,263 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A long specialization of {@link Either}, that holds its success value
+ * without boxing.
+ * 
+ * @param <E> The failure type
+ */
+public sealed interface LongEither<E> permits LongEither.Failure, LongEither.Success {
+
+  /**
+   * Constructs an LongEither from a success value.
+   * 
+   * @param <E>   The failure type of the constructed LongEither
+   * @param value the success value from which the LongEither will be constructed.
+   * @return
+   */
+  static <E> LongEither<E> success(long value) {
+    return new Success<>(value);
+  }
+
+  /**
+   * Constructs an LongEither from a failure value.
+   * 
+   * @param <E>     The failure type of the constructed LongEither
+   * @param failure the failure value from which the LongEither will be constructed.
+   * @return
+   */
+  static <E> LongEither<E> failure(E failure) {
+    return new Failure<>(failure);
+  }
+
+  /**
+   * Constructs an LongEither from a boxed Either.
+   * 
+   * @param <E>    The failure type of the constructed LongEither
+   * @param either the boxed Either
+   * @return
+   * @throws NullPointerException - if the either or its success value is null
+   */
+  static <E> LongEither<E> fromEither(Either<E, Long> either) {
+    Objects.requireNonNull(either);
+    if (either instanceof Either.Success<E, Long> success) {
+      return new Success<>(success.value());
+    }
+    return new Failure<>(((Either.Failure<E, Long>) either).value());
+  }
+
+  /**
+   * If a success value is present, apply the mapping function f to it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  LongEither<E> map(LongUnaryOperator f);
+
+  /**
+   * If a success value is present, apply the boxing mapping function f to it.
+   * 
+   * @param <B> - The success type of the result of the mapping function
+   * @param f   - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <B> Either<E, B> mapToObj(LongFunction<? extends B> f);
+
+  /**
+   * If a failure value is present, apply the mapping function f to it.
+   * 
+   * @param <F> - The failure type of the result of the mapping function
+   * @param f   - a mapping function to apply to the failure value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  <F> LongEither<F> mapF(Function<? super E, ? extends F> f);
+
+  /**
+   * If a success value is present, apply the mapping function f to it and
+   * return its result without wrapping it.
+   * 
+   * @param f - a mapping function to apply to the success value, if present
+   * @return
+   * @throws NullPointerException - if the mapping function is null
+   */
+  LongEither<E> flatMap(LongFunction<? extends LongEither<E>> f);
+
+  /**
+   * @return true if this LongEither is a failure value, otherwise false
+   */
+  boolean isFailure();
+
+  /**
+   * @return true if this LongEither is a success value, otherwise false
+   */
+  boolean isSuccess();
+
+  /**
+   * Consumes the success value, if present, otherwise no Operation.
+   * 
+   * @param consumer
+   */
+  void ifPresent(LongConsumer consumer);
+
+  /**
+   * @param other another LongEither
+   * @return other LongEither, if this LongEither contains a failure value. Otherwise this
+   *         LongEither.
+   */
+  LongEither<E> or(LongEither<E> other);
+
+  /**
+   * @param other
+   * @return the success value, if present, otherwise the provided default.
+   */
+  long getOrDefault(long other);
+
+  /**
+   * @return the boxed Either
+   */
+  Either<E, Long> toEither();
+
+  record Failure<E>(E value) implements LongEither<E> {
+
+    @Override
+    public LongEither<E> map(LongUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(LongFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Either.Failure<>(value);
+    }
+
+    @Override
+    public <F> LongEither<F> mapF(Function<? super E, ? extends F> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Failure<>(f.apply(value));
+    }
+
+    @Override
+    public LongEither<E> flatMap(LongFunction<? extends LongEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return this;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return true;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return false;
+    }
+
+    @Override
+    public void ifPresent(LongConsumer consumer) {
+      // noOp
+    }
+
+    @Override
+    public LongEither<E> or(LongEither<E> other) {
+      return other;
+    }
+
+    @Override
+    public long getOrDefault(long other) {
+      return other;
+    }
+
+    @Override
+    public Either<E, Long> toEither() {
+      return new Either.Failure<>(value);
+    }
+  }
+
+  record Success<E>(long value) implements LongEither<E> {
+
+    @Override
+    public LongEither<E> map(LongUnaryOperator f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return new Success<>(f.applyAsLong(value));
+    }
+
+    @Override
+    public <B> Either<E, B> mapToObj(LongFunction<? extends B> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return Canonical.eitherSuccess(f.apply(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <F> LongEither<F> mapF(Function<? super E, ? extends F> f) {
+      return (LongEither<F>) this;
+    }
+
+    @Override
+    public LongEither<E> flatMap(LongFunction<? extends LongEither<E>> f) {
+      Objects.requireNonNull(f, "Mapper function is null.");
+      return f.apply(value);
+    }
+
+    @Override
+    public boolean isFailure() {
+      return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return true;
+    }
+
+    @Override
+    public void ifPresent(LongConsumer consumer) {
+      consumer.accept(value);
+    }
+
+    @Override
+    public LongEither<E> or(LongEither<E> other) {
+      return this;
+    }
+
+    @Override
+    public long getOrDefault(long other) {
+      return value;
+    }
+
+    @Override
+    public Either<E, Long> toEither() {
+      return Canonical.eitherSuccess(value);
+    }
+  }
+}
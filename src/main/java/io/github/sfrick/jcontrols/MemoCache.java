@@ -0,0 +1,235 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The bounded cache behind {@code FunctionN.memoized(CacheSpec)}. Reads are
+ * lock free lookups in a {@link ConcurrentHashMap}. Once the cache is full, a
+ * new entry has to win against the oldest entry, the candidate for eviction,
+ * by being more frequent according to a {@link FrequencySketch}, otherwise it
+ * is dropped again. So a burst of one-off keys cannot flush the keys in
+ * regular use, as it would in an LRU cache.
+ * <p>
+ * Every entry is queued in insertion order. Nodes of expired or replaced
+ * entries are drained from the head of the queue on insertion and the whole
+ * queue is compacted once it holds twice as many nodes as the cache may hold
+ * entries, so it stays bounded even if entries only ever expire.
+ * <p>
+ * Concurrent misses of the same key may compute the result more than once,
+ * memoized functions are expected to be pure.
+ */
+final class MemoCache<K, V> {
+
+  record Key2(Object a1, Object a2) {
+  }
+
+  record Key3(Object a1, Object a2, Object a3) {
+  }
+
+  record Key4(Object a1, Object a2, Object a3, Object a4) {
+  }
+
+  record Key5(Object a1, Object a2, Object a3, Object a4, Object a5) {
+  }
+
+  private static final Object NULL_KEY = new Object();
+
+  private static final class Node<K, V> {
+    private final K key;
+    private final V value;
+    private final Throwable failure;
+    private final long expiresAt;
+
+    private Node(K key, V value, Throwable failure, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.failure = failure;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isExpired(long now) {
+      return expiresAt != 0 && now - expiresAt >= 0;
+    }
+  }
+
+  private final int maximumSize;
+  private final long ttlNanos;
+  private final long failureTtlNanos;
+  private final CacheStats stats;
+  private final ConcurrentHashMap<Object, Node<Object, V>> data = new ConcurrentHashMap<>();
+  private final Queue<Node<Object, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final FrequencySketch sketch;
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  MemoCache(CacheSpec spec) {
+    this.maximumSize = spec.maximumSize();
+    this.ttlNanos = spec.ttl().toNanos();
+    this.failureTtlNanos = spec.failureTtl().toNanos();
+    this.stats = spec.stats();
+    this.sketch = new FrequencySketch(maximumSize);
+  }
+
+  /**
+   * @param key
+   * @param compute computes the value on a miss
+   * @return the cached value, otherwise the computed one
+   * @throws ExecutionException a new instance for every call, wrapping the
+   *                            cached failure, if failures are cached. The
+   *                            cause itself is shared by all callers.
+   * @throws Throwable          the exception of compute, if failures are not
+   *                            cached
+   */
+  V get(K key, Function0<? extends V> compute) throws Throwable {
+    Object k = key == null ? NULL_KEY : key;
+    sketch.increment(k);
+    long now = System.nanoTime();
+    Node<Object, V> node = data.get(k);
+    if (node != null) {
+      if (!node.isExpired(now)) {
+        stats.hit();
+        if (node.failure != null) {
+          throw new ExecutionException(node.failure);
+        }
+        return node.value;
+      }
+      data.remove(k, node);
+    }
+    stats.miss();
+    V value;
+    try {
+      value = compute.apply();
+    } catch (Throwable failure) {
+      if (failureTtlNanos > 0) {
+        add(new Node<>(k, null, failure, expiry(System.nanoTime(), failureTtlNanos)));
+        throw new ExecutionException(failure);
+      }
+      throw failure;
+    }
+    add(new Node<>(k, value, null, expiry(System.nanoTime(), ttlNanos)));
+    return value;
+  }
+
+  int size() {
+    return data.size();
+  }
+
+  /**
+   * @return the number of nodes in the insertion order queue
+   */
+  int queued() {
+    return insertionOrder.size();
+  }
+
+  private static long expiry(long now, long ttl) {
+    if (ttl == 0) {
+      return 0;
+    }
+    long expiresAt = now + ttl;
+    return expiresAt == 0 ? 1 : expiresAt;
+  }
+
+  private void add(Node<Object, V> node) {
+    data.put(node.key, node);
+    insertionOrder.add(node);
+    queued.incrementAndGet();
+    if (data.size() > maximumSize) {
+      evictionLock.lock();
+    } else if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      long now = System.nanoTime();
+      drainHead(now);
+      if (queued.get() > 2 * maximumSize) {
+        compact(now);
+      }
+      evict(node);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Removes the nodes of replaced entries, and of expired entries with them,
+   * from the head of the queue.
+   */
+  private void drainHead(long now) {
+    Node<Object, V> head;
+    while ((head = insertionOrder.peek()) != null && isDead(head, now)) {
+      insertionOrder.poll();
+      queued.decrementAndGet();
+      data.remove(head.key, head);
+    }
+  }
+
+  private void compact(long now) {
+    for (Iterator<Node<Object, V>> it = insertionOrder.iterator(); it.hasNext();) {
+      Node<Object, V> node = it.next();
+      if (isDead(node, now)) {
+        it.remove();
+        queued.decrementAndGet();
+        data.remove(node.key, node);
+      }
+    }
+  }
+
+  private boolean isDead(Node<Object, V> node, long now) {
+    return data.get(node.key) != node || node.isExpired(now);
+  }
+
+  /**
+   * Evicts until the cache is within its size, letting the candidate compete
+   * against the oldest entries.
+   */
+  private void evict(Node<Object, V> candidate) {
+    while (data.size() > maximumSize) {
+      Node<Object, V> victim = insertionOrder.poll();
+      if (victim == null) {
+        return;
+      }
+      queued.decrementAndGet();
+      if (data.get(victim.key) != victim) {
+        continue;
+      }
+      if (victim == candidate || victim.isExpired(System.nanoTime())) {
+        data.remove(victim.key, victim);
+      } else if (data.get(candidate.key) == candidate
+          && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+        data.remove(candidate.key, candidate);
+        insertionOrder.add(victim);
+        queued.incrementAndGet();
+      } else {
+        data.remove(victim.key, victim);
+      }
+      stats.eviction();
+    }
+  }
+}
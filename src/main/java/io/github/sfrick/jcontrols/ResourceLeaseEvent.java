@@ -0,0 +1,62 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted for every {@code of} and {@code ofConsumer} call of
+ * {@code WithResouce1..5}, with the time spent opening the resources, running
+ * the work and closing the resources. By default only leases longer than 10
+ * ms are recorded.
+ */
+@Name("io.github.sfrick.jcontrols.ResourceLease")
+@Label("Resource Lease")
+@Category("jcontrols")
+@Threshold("10 ms")
+@Description("A WithResouce block opened, used and closed its resources")
+final class ResourceLeaseEvent extends Event {
+
+  @Label("Resources")
+  int resources;
+
+  @Label("Open")
+  @Timespan(Timespan.NANOSECONDS)
+  long open;
+
+  @Label("Work")
+  @Timespan(Timespan.NANOSECONDS)
+  long work;
+
+  @Label("Close")
+  @Timespan(Timespan.NANOSECONDS)
+  long close;
+
+  @Label("Success")
+  boolean success;
+}
@@ -0,0 +1,349 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of expensive resources like connections, channels or
+ * parsers, used with {@link Try#withPooled(ResourcePool)}. A leased resource
+ * goes back to the pool when its {@link Lease} is closed, instead of being
+ * destroyed.
+ * <p>
+ * Idle resources are kept in a {@link ConcurrentLinkedDeque}, most recently
+ * used first, so the warmest resource is leased next and resources idle for
+ * too long collect at the tail, where they are evicted. A {@link Semaphore}
+ * caps the number of resources. A resource is validated on every lease and
+ * destroyed once it exceeds its maximum lifetime.
+ * <p>
+ * Besides on every release, idle resources are evicted by a sweep scheduled
+ * every half of the maximum idle time, so an unused pool shrinks as well. The
+ * sweep stops once the pool is closed or no longer referenced.
+ * 
+ * <pre>{@code
+ * ResourcePool<Connection> pool = ResourcePool.of("db", dataSource::getConnection, Connection::close,
+ *     c -> c.isValid(1), ResourcePool.Config.defaults());
+ * Try<Row> row = Try.withPooled(pool).of(lease -> query(lease.get(), sql));
+ * }</pre>
+ *
+ * @param <A> the type of the resources
+ */
+public final class ResourcePool<A> implements AutoCloseable {
+
+  /**
+   * @param maxSize      the maximum number of resources, leased or idle
+   * @param leaseTimeout the maximum time to wait for a resource
+   * @param maxIdle      the time after which an idle resource is evicted, idle
+   *                     resources are swept every half of it
+   * @param maxLifetime  the time after which a resource is destroyed, once it
+   *                     is returned
+   */
+  public record Config(int maxSize, Duration leaseTimeout, Duration maxIdle, Duration maxLifetime) {
+
+    public Config {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      Objects.requireNonNull(leaseTimeout);
+      Objects.requireNonNull(maxIdle);
+      Objects.requireNonNull(maxLifetime);
+      if (maxIdle.isNegative() || maxIdle.isZero()) {
+        throw new IllegalArgumentException("maxIdle must be positive");
+      }
+    }
+
+    /**
+     * 10 resources, 1 second lease timeout, evicted after 10 minutes idle or 30
+     * minutes lifetime.
+     * 
+     * @return
+     */
+    public static Config defaults() {
+      return new Config(10, Duration.ofSeconds(1), Duration.ofMinutes(10), Duration.ofMinutes(30));
+    }
+
+    public Config withMaxSize(int maxSize) {
+      return new Config(maxSize, leaseTimeout, maxIdle, maxLifetime);
+    }
+
+    public Config withLeaseTimeout(Duration leaseTimeout) {
+      return new Config(maxSize, leaseTimeout, maxIdle, maxLifetime);
+    }
+
+    public Config withMaxIdle(Duration maxIdle) {
+      return new Config(maxSize, leaseTimeout, maxIdle, maxLifetime);
+    }
+
+    public Config withMaxLifetime(Duration maxLifetime) {
+      return new Config(maxSize, leaseTimeout, maxIdle, maxLifetime);
+    }
+  }
+
+  /**
+   * A leased resource. Closing the lease returns the resource to its pool.
+   * 
+   * @param <A> the type of the resource
+   */
+  public static final class Lease<A> implements AutoCloseable {
+
+    private final ResourcePool<A> pool;
+    private final Entry<A> entry;
+    private boolean invalid;
+    private boolean closed;
+
+    private Lease(ResourcePool<A> pool, Entry<A> entry) {
+      this.pool = pool;
+      this.entry = entry;
+    }
+
+    /**
+     * @return the leased resource
+     */
+    public A get() {
+      return entry.resource;
+    }
+
+    /**
+     * Marks the resource as broken, so it is destroyed instead of returned.
+     */
+    public void invalidate() {
+      invalid = true;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        pool.release(entry, invalid);
+      }
+    }
+  }
+
+  private static final class Entry<A> {
+    private final A resource;
+    private final long created;
+    private long lastUsed;
+
+    private Entry(A resource, long created) {
+      this.resource = resource;
+      this.created = created;
+      this.lastUsed = created;
+    }
+  }
+
+  private final Function0<A> factory;
+  private final CheckedConsumer1<? super A> destroy;
+  private final Function1<? super A, Boolean> validate;
+  private final int maxSize;
+  private final long leaseTimeoutNanos;
+  private final long maxIdleNanos;
+  private final long maxLifetimeNanos;
+  private final ConcurrentLinkedDeque<Entry<A>> idle = new ConcurrentLinkedDeque<>();
+  private final Semaphore permits;
+  private final CallNotPermittedException timeout;
+  private volatile boolean closed;
+
+  private ResourcePool(String name, Function0<A> factory, CheckedConsumer1<? super A> destroy,
+      Function1<? super A, Boolean> validate, Config config) {
+    this.factory = factory;
+    this.destroy = destroy;
+    this.validate = validate;
+    this.maxSize = config.maxSize();
+    this.leaseTimeoutNanos = config.leaseTimeout().toNanos();
+    this.maxIdleNanos = config.maxIdle().toNanos();
+    this.maxLifetimeNanos = config.maxLifetime().toNanos();
+    this.permits = new Semaphore(maxSize);
+    this.timeout = new CallNotPermittedException("Lease from pool '" + name + "' timed out");
+  }
+
+  /**
+   * @param <A>
+   * @param name     the name used in the message of timed out leases
+   * @param factory  creates a new resource
+   * @param destroy  destroys a resource that is evicted, invalid or expired
+   * @param validate checks a resource before it is leased, a resource failing
+   *                 the check or throwing is destroyed
+   * @param config
+   * @return
+   */
+  public static <A> ResourcePool<A> of(String name, Function0<A> factory, CheckedConsumer1<? super A> destroy,
+      Function1<? super A, Boolean> validate, Config config) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(factory);
+    Objects.requireNonNull(destroy);
+    Objects.requireNonNull(validate);
+    Objects.requireNonNull(config);
+    ResourcePool<A> pool = new ResourcePool<>(name, factory, destroy, validate, config);
+    scheduleSweep(new WeakReference<>(pool), Math.max(pool.maxIdleNanos / 2, TimeUnit.MILLISECONDS.toNanos(1)));
+    return pool;
+  }
+
+  /**
+   * A pool of {@link AutoCloseable} resources, which are closed on destruction
+   * and never validated.
+   * 
+   * @param <A>
+   * @param name
+   * @param factory
+   * @param config
+   * @return
+   */
+  public static <A extends AutoCloseable> ResourcePool<A> of(String name, Function0<A> factory, Config config) {
+    return of(name, factory, AutoCloseable::close, a -> true, config);
+  }
+
+  /**
+   * Leases a resource, waiting at most the lease timeout for one to be
+   * returned, if the pool is exhausted.
+   * 
+   * @return
+   * @throws CallNotPermittedException if the lease timed out
+   * @throws Throwable                 if creating a resource failed
+   */
+  public Lease<A> lease() throws Throwable {
+    if (closed) {
+      throw new IllegalStateException("Pool is closed");
+    }
+    if (!permits.tryAcquire(leaseTimeoutNanos, TimeUnit.NANOSECONDS)) {
+      throw timeout;
+    }
+    try {
+      long now = System.nanoTime();
+      Entry<A> entry;
+      while ((entry = idle.pollFirst()) != null) {
+        if (!isExpired(entry, now) && isValid(entry)) {
+          return new Lease<>(this, entry);
+        }
+        destroy(entry);
+      }
+      return new Lease<>(this, new Entry<>(factory.apply(), now));
+    } catch (Throwable e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of idle resources
+   */
+  public int idle() {
+    return idle.size();
+  }
+
+  /**
+   * @return the number of leased resources
+   */
+  public int leased() {
+    return maxSize - permits.availablePermits();
+  }
+
+  /**
+   * Destroys all idle resources, leased resources are destroyed once they are
+   * returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    Entry<A> entry;
+    while ((entry = idle.pollFirst()) != null) {
+      destroy(entry);
+    }
+  }
+
+  private void release(Entry<A> entry, boolean invalid) {
+    long now = System.nanoTime();
+    try {
+      if (invalid || closed || now - entry.created >= maxLifetimeNanos) {
+        destroy(entry);
+      } else {
+        entry.lastUsed = now;
+        idle.offerFirst(entry);
+        if (closed && idle.remove(entry)) {
+          destroy(entry);
+        }
+      }
+      evictIdle(now);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private boolean isExpired(Entry<A> entry, long now) {
+    return now - entry.created >= maxLifetimeNanos || now - entry.lastUsed >= maxIdleNanos;
+  }
+
+  private boolean isValid(Entry<A> entry) {
+    try {
+      return validate.apply(entry.resource);
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  /**
+   * Evicts every idle resource that exceeded its maximum idle time or lifetime.
+   */
+  void sweep() {
+    long now = System.nanoTime();
+    for (Entry<A> entry : idle) {
+      if (isExpired(entry, now) && idle.removeFirstOccurrence(entry)) {
+        destroy(entry);
+      }
+    }
+  }
+
+  private static void scheduleSweep(WeakReference<ResourcePool<?>> reference, long intervalNanos) {
+    Executor delayed = CompletableFuture.delayedExecutor(intervalNanos, TimeUnit.NANOSECONDS,
+        DefaultExecutor.get());
+    delayed.execute(() -> {
+      ResourcePool<?> pool = reference.get();
+      if (pool == null || pool.closed) {
+        return;
+      }
+      pool.sweep();
+      pool = null;
+      scheduleSweep(reference, intervalNanos);
+    });
+  }
+
+  private void evictIdle(long now) {
+    Entry<A> oldest = idle.peekLast();
+    if (oldest != null && now - oldest.lastUsed >= maxIdleNanos && idle.removeLastOccurrence(oldest)) {
+      destroy(oldest);
+    }
+  }
+
+  private void destroy(Entry<A> entry) {
+    try {
+      destroy.apply(entry.resource);
+    } catch (Throwable ignored) {
+      // a resource failing to close is gone either way
+    }
+  }
+}
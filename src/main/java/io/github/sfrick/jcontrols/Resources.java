@@ -0,0 +1,358 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Opens and closes the resource tuples of the {@code WithResouce} records
+ * with the semantics of a try-with-resources block: resources are opened in
+ * order and closed in reverse order, exceptions thrown while closing are
+ * suppressed by the primary exception.
+ */
+final class Resources {
+
+  private Resources() {
+  }
+
+  /**
+   * The work of a batch, applied to the open resources and one item.
+   */
+  @FunctionalInterface
+  interface Work<T, B> {
+    B apply(AutoCloseable[] resources, T item) throws Throwable;
+  }
+
+  /**
+   * The work of {@code ofConcurrent}, applied to the open resources.
+   */
+  @FunctionalInterface
+  interface Body<B> {
+    B apply(AutoCloseable[] resources) throws Throwable;
+  }
+
+  /**
+   * Opens all resources, closing the ones already opened if one fails.
+   */
+  static AutoCloseable[] open(Function0<?>[] factories) throws Throwable {
+    AutoCloseable[] resources = new AutoCloseable[factories.length];
+    for (int i = 0; i < factories.length; i++) {
+      try {
+        resources[i] = (AutoCloseable) factories[i].apply();
+      } catch (Throwable cause) {
+        throw close(resources, cause);
+      }
+    }
+    return resources;
+  }
+
+  /**
+   * Opens the resources, applies the work and closes the resources like a
+   * try-with-resources block, timing each phase for a
+   * {@link ResourceLeaseEvent}.
+   */
+  static <B> Try<B> leased(Function0<?>[] factories, Body<? extends B> body) {
+    Object event = Instrumentation.beginLease();
+    long start = System.nanoTime();
+    AutoCloseable[] resources;
+    try {
+      resources = open(factories);
+    } catch (Throwable cause) {
+      Instrumentation.lease(event, factories.length, System.nanoTime() - start, 0, 0, false);
+      return Instrumentation.failure(null, cause);
+    }
+    long opened = System.nanoTime();
+    B value = null;
+    Throwable failure = null;
+    try {
+      value = body.apply(resources);
+    } catch (Throwable cause) {
+      failure = cause;
+    }
+    long worked = System.nanoTime();
+    failure = close(resources, failure);
+    long closed = System.nanoTime();
+    Instrumentation.lease(event, factories.length, opened - start, worked - opened, closed - worked, failure == null);
+    return failure == null ? Try.success(value) : Instrumentation.failure(null, failure);
+  }
+
+  /**
+   * Opens all resources concurrently on a {@link TaskScope}. The first failure
+   * interrupts the factories still running, resources opened anyway are closed
+   * once all factories have finished.
+   */
+  static AutoCloseable[] openConcurrently(Function0<?>[] factories) throws Throwable {
+    AutoCloseable[] resources = new AutoCloseable[factories.length];
+    Throwable failure = null;
+    TaskScope<Object> scope = new TaskScope<>(factories.length);
+    try {
+      for (Function0<?> factory : factories) {
+        scope.fork(factory);
+      }
+      for (int i = 0; i < factories.length && failure == null; i++) {
+        failure = collect(scope.take(), resources, null);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = e;
+    } finally {
+      scope.close();
+    }
+    if (failure == null) {
+      return resources;
+    }
+    TaskScope.Completion<Object> late;
+    while ((late = scope.poll()) != null) {
+      collect(late, resources, failure);
+    }
+    throw close(resources, failure);
+  }
+
+  private static Throwable collect(TaskScope.Completion<Object> completion, AutoCloseable[] resources,
+      Throwable failure) {
+    if (completion.result() instanceof Try.Success<Object> success) {
+      resources[completion.index()] = (AutoCloseable) success.value();
+      return failure;
+    }
+    Throwable cause = ((Try.Failure<Object>) completion.result()).cause();
+    if (failure == null) {
+      return cause;
+    }
+    if (failure != cause) {
+      failure.addSuppressed(cause);
+    }
+    return failure;
+  }
+
+  /**
+   * Opens the resources concurrently and applies the work.
+   * 
+   * @param onCloseFailure if null, the resources are closed before returning
+   *                       and close exceptions end up in the result. Otherwise
+   *                       they are closed on the default executor and close
+   *                       exceptions are passed to the handler.
+   */
+  static <B> Try<B> concurrent(Function0<?>[] factories, Body<? extends B> body,
+      Consumer<? super Throwable> onCloseFailure) {
+    Object event = Instrumentation.leaseEnabled() ? Instrumentation.beginLease() : null;
+    long start = System.nanoTime();
+    AutoCloseable[] resources;
+    try {
+      resources = openConcurrently(factories);
+    } catch (Throwable cause) {
+      if (event != null) {
+        Instrumentation.lease(event, factories.length, System.nanoTime() - start, 0, 0, false);
+      }
+      return Instrumentation.failure(null, cause);
+    }
+    long opened = System.nanoTime();
+    B value = null;
+    Throwable failure = null;
+    try {
+      value = body.apply(resources);
+    } catch (Throwable cause) {
+      failure = cause;
+    }
+    long worked = System.nanoTime();
+    if (onCloseFailure == null) {
+      failure = close(resources, failure);
+    } else {
+      closeAsync(resources, onCloseFailure);
+    }
+    long closed = System.nanoTime();
+    if (event != null) {
+      Instrumentation.lease(event, factories.length, opened - start, worked - opened, closed - worked, failure == null);
+    }
+    return failure == null ? Try.success(value) : Instrumentation.failure(null, failure);
+  }
+
+  private static void closeAsync(AutoCloseable[] resources, Consumer<? super Throwable> onCloseFailure) {
+    Runnable closing = () -> {
+      Throwable cause = close(resources, null);
+      if (cause != null) {
+        onCloseFailure.accept(cause);
+      }
+    };
+    try {
+      DefaultExecutor.get().execute(closing);
+    } catch (RejectedExecutionException rejected) {
+      closing.run();
+    }
+  }
+
+  /**
+   * Closes all resources in reverse order.
+   * 
+   * @param primary the exception that ended the work, if any
+   * @return the primary exception with the close exceptions suppressed, or the
+   *         first close exception, or null
+   */
+  static Throwable close(AutoCloseable[] resources, Throwable primary) {
+    for (int i = resources.length - 1; i >= 0; i--) {
+      if (resources[i] == null) {
+        continue;
+      }
+      try {
+        resources[i].close();
+      } catch (Throwable cause) {
+        if (primary == null) {
+          primary = cause;
+        } else if (primary != cause) {
+          primary.addSuppressed(cause);
+        }
+      }
+    }
+    return primary;
+  }
+
+  static <T, B> Try<List<B>> all(Function0<?>[] factories, Iterable<? extends T> items, Work<? super T, ? extends B> work) {
+    return Try.of(() -> {
+      AutoCloseable[] resources = open(factories);
+      List<B> results = new ArrayList<>();
+      try {
+        for (T item : items) {
+          results.add(work.apply(resources, item));
+        }
+      } catch (Throwable cause) {
+        throw close(resources, cause);
+      }
+      Throwable cause = close(resources, null);
+      if (cause != null) {
+        throw cause;
+      }
+      return Collections.unmodifiableList(results);
+    });
+  }
+
+  static <T, B> List<Try<B>> each(Function0<?>[] factories, Iterable<? extends T> items,
+      Work<? super T, ? extends B> work, Predicate<? super Throwable> poisons) {
+    Batch<T, B> batch = new Batch<>(factories, work, poisons);
+    List<Try<B>> results = new ArrayList<>();
+    for (T item : items) {
+      results.add(batch.apply(item));
+    }
+    Throwable cause = batch.close();
+    if (cause != null) {
+      int last = results.size() - 1;
+      if (results.get(last) instanceof Try.Failure<B> failure) {
+        if (failure.cause() != cause) {
+          failure.cause().addSuppressed(cause);
+        }
+      } else {
+        results.set(last, Instrumentation.failure(null, cause));
+      }
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  static <T, B> Stream<Try<B>> stream(Function0<?>[] factories, Stream<? extends T> items,
+      Work<? super T, ? extends B> work, Predicate<? super Throwable> poisons) {
+    Batch<T, B> batch = new Batch<>(factories, work, poisons);
+    return items.sequential().<Try<B>>map(batch::applyConfined).onClose(() -> {
+      Throwable cause = batch.close();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      if (cause != null) {
+        throw new CompletionException(cause);
+      }
+    });
+  }
+
+  /**
+   * Applies the work to one item after another, keeping the resources open
+   * between the items. Resources are reopened after an item failed with a
+   * poisoning exception. Once opening fails, every following item fails with
+   * the same cause. Not thread safe, {@link #applyConfined} guards the
+   * batches of streams, which callers may turn parallel.
+   */
+  private static final class Batch<T, B> {
+    private final Function0<?>[] factories;
+    private final Work<? super T, ? extends B> work;
+    private final Predicate<? super Throwable> poisons;
+    private final AtomicReference<Thread> owner = new AtomicReference<>();
+    private AutoCloseable[] resources;
+    private Try<B> broken;
+
+    Batch(Function0<?>[] factories, Work<? super T, ? extends B> work, Predicate<? super Throwable> poisons) {
+      this.factories = factories;
+      this.work = work;
+      this.poisons = poisons;
+    }
+
+    /**
+     * Applies the work like {@link #apply}, but only ever on the thread that
+     * applied it to the first item.
+     * 
+     * @throws IllegalStateException if called from another thread, e.g. by a
+     *                               parallel stream
+     */
+    Try<B> applyConfined(T item) {
+      Thread current = Thread.currentThread();
+      if (owner.get() != current && !owner.compareAndSet(null, current)) {
+        throw new IllegalStateException("The results of ofStream must be consumed sequentially");
+      }
+      return apply(item);
+    }
+
+    Try<B> apply(T item) {
+      if (broken != null) {
+        return broken;
+      }
+      if (resources == null) {
+        try {
+          resources = open(factories);
+        } catch (Throwable cause) {
+          broken = Instrumentation.failure(null, cause);
+          return broken;
+        }
+      }
+      try {
+        return Try.success(work.apply(resources, item));
+      } catch (Throwable cause) {
+        if (poisons.test(cause)) {
+          AutoCloseable[] poisoned = resources;
+          resources = null;
+          Resources.close(poisoned, cause);
+        }
+        return Instrumentation.failure(null, cause);
+      }
+    }
+
+    Throwable close() {
+      AutoCloseable[] open = resources;
+      resources = null;
+      return open == null ? null : Resources.close(open, null);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link Try#retry} and {@link Try#retryAsync}.
+ */
+final class Retry {
+
+  private Retry() {
+  }
+
+  static <A> Try<A> blocking(Function0<A> work, RetryPolicy policy) {
+    Objects.requireNonNull(work);
+    Objects.requireNonNull(policy);
+    long delay = 0;
+    for (int attempt = 1;; attempt++) {
+      Try<A> result = Try.of(work);
+      if (!(result instanceof Try.Failure<A> failure)) {
+        return result;
+      }
+      try {
+        if (!policy.shouldRetry(attempt, failure.cause())) {
+          return result;
+        }
+        delay = policy.delayNanos(attempt, delay);
+      } catch (Throwable e) {
+        e.addSuppressed(failure.cause());
+        return new Try.Failure<>(e);
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        e.addSuppressed(failure.cause());
+        return new Try.Failure<>(e);
+      }
+    }
+  }
+
+  static <A> AsyncTry<A> async(Function0<A> work, RetryPolicy policy, Executor executor) {
+    Objects.requireNonNull(work);
+    Objects.requireNonNull(policy);
+    Objects.requireNonNull(executor);
+    CompletableFuture<A> result = new CompletableFuture<>();
+    schedule(work, policy, executor, result, 1, 0, executor);
+    return AsyncTry.wrap(result);
+  }
+
+  private static <A> void attempt(Function0<A> work, RetryPolicy policy, Executor executor,
+      CompletableFuture<A> result, int attempt, long previousDelay) {
+    A value;
+    try {
+      value = work.apply();
+    } catch (Throwable cause) {
+      long delay;
+      try {
+        if (!policy.shouldRetry(attempt, cause)) {
+          result.completeExceptionally(cause);
+          return;
+        }
+        delay = policy.delayNanos(attempt, previousDelay);
+      } catch (Throwable e) {
+        e.addSuppressed(cause);
+        result.completeExceptionally(e);
+        return;
+      }
+      schedule(work, policy, executor, result, attempt + 1, delay,
+          CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor));
+      return;
+    }
+    result.complete(value);
+  }
+
+  private static <A> void schedule(Function0<A> work, RetryPolicy policy, Executor executor,
+      CompletableFuture<A> result, int attempt, long delay, Executor scheduler) {
+    try {
+      scheduler.execute(() -> attempt(work, policy, executor, result, attempt, delay));
+    } catch (Throwable rejected) {
+      result.completeExceptionally(rejected);
+    }
+  }
+}
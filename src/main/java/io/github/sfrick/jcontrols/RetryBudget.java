@@ -0,0 +1,83 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread safe token bucket that caps the retry traffic of all policies
+ * sharing it, so an outage of a downstream service does not turn into a retry
+ * storm. Every retry takes one token, tokens refill at a constant rate up to
+ * the capacity.
+ * <p>
+ * The bucket is a lock free implementation of the generic cell rate
+ * algorithm: a single {@link AtomicLong} holds the theoretical arrival time of
+ * the next token.
+ */
+public final class RetryBudget {
+
+  private final long interval;
+  private final long tolerance;
+  private final AtomicLong arrival;
+
+  private RetryBudget(long interval, long tolerance) {
+    this.interval = interval;
+    this.tolerance = tolerance;
+    this.arrival = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * @param capacity        the maximum number of retries in a burst
+   * @param tokensPerSecond the rate at which tokens refill
+   * @return a full budget
+   */
+  public static RetryBudget of(int capacity, double tokensPerSecond) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1");
+    }
+    if (!(tokensPerSecond > 0)) {
+      throw new IllegalArgumentException("tokensPerSecond must be positive");
+    }
+    long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+    return new RetryBudget(interval, interval * (capacity - 1));
+  }
+
+  /**
+   * Takes a token, if one is available.
+   * 
+   * @return true if a token was taken, otherwise false
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      long now = System.nanoTime();
+      long current = arrival.get();
+      if (current - now > tolerance) {
+        return false;
+      }
+      long next = (current - now > 0 ? current : now) + interval;
+      if (arrival.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Describes how {@link Try#retry(Function0, RetryPolicy)} retries failing
+ * work: how often, how long to wait between attempts and which failures are
+ * worth a retry at all.
+ * 
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.of(5)
+ *     .withBackoff(Duration.ofMillis(50), 2.0, Duration.ofSeconds(2))
+ *     .withJitter(RetryPolicy.Jitter.FULL)
+ *     .withRetryOn(t -> t instanceof IOException)
+ *     .withBudget(RetryBudget.of(10, 5.0));
+ * }</pre>
+ *
+ * @param maxAttempts  the maximum number of attempts, including the first one
+ * @param initialDelay the delay before the first retry
+ * @param multiplier   the factor the delay grows by with every retry
+ * @param maxDelay     the upper bound of any delay
+ * @param jitter       how the computed delays are randomized
+ * @param retryOn      decides if a failure is retried
+ * @param budget       the shared budget every retry has to acquire a token
+ *                     from, or null for no budget
+ */
+public record RetryPolicy(int maxAttempts, Duration initialDelay, double multiplier, Duration maxDelay,
+    Jitter jitter, Predicate<? super Throwable> retryOn, RetryBudget budget) {
+
+  /**
+   * How delays are randomized, to keep many clients from retrying in lockstep.
+   */
+  public enum Jitter {
+    /** Exponential backoff without randomization. */
+    NONE,
+    /** A random delay between zero and the exponential backoff. */
+    FULL,
+    /** A random delay between the initial delay and three times the previous delay. */
+    DECORRELATED
+  }
+
+  public RetryPolicy {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    if (multiplier < 1.0) {
+      throw new IllegalArgumentException("multiplier must be at least 1");
+    }
+    Objects.requireNonNull(initialDelay);
+    Objects.requireNonNull(maxDelay);
+    Objects.requireNonNull(jitter);
+    Objects.requireNonNull(retryOn);
+    if (initialDelay.isNegative()) {
+      throw new IllegalArgumentException("initialDelay must not be negative");
+    }
+    if (maxDelay.compareTo(initialDelay) < 0) {
+      throw new IllegalArgumentException("maxDelay must not be less than initialDelay");
+    }
+  }
+
+  /**
+   * A policy retrying every failure up to the given number of attempts with
+   * an exponential backoff from 100ms up to 10s, without jitter and budget.
+   * 
+   * @param maxAttempts the maximum number of attempts, including the first one
+   * @return
+   */
+  public static RetryPolicy of(int maxAttempts) {
+    return new RetryPolicy(maxAttempts, Duration.ofMillis(100), 2.0, Duration.ofSeconds(10), Jitter.NONE,
+        t -> true, null);
+  }
+
+  public RetryPolicy withBackoff(Duration initialDelay, double multiplier, Duration maxDelay) {
+    return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, retryOn, budget);
+  }
+
+  public RetryPolicy withJitter(Jitter jitter) {
+    return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, retryOn, budget);
+  }
+
+  public RetryPolicy withRetryOn(Predicate<? super Throwable> retryOn) {
+    return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, retryOn, budget);
+  }
+
+  public RetryPolicy withBudget(RetryBudget budget) {
+    return new RetryPolicy(maxAttempts, initialDelay, multiplier, maxDelay, jitter, retryOn, budget);
+  }
+
+  /**
+   * Decides if the failure of the given attempt is retried. Acquires a token
+   * of the budget, if there is one.
+   */
+  boolean shouldRetry(int attempt, Throwable cause) {
+    return attempt < maxAttempts && retryOn.test(cause) && (budget == null || budget.tryAcquire());
+  }
+
+  /**
+   * @param attempt       the attempt that just failed, starting at 1
+   * @param previousDelay the previous delay in nanos, 0 before the first retry
+   * @return the delay in nanos before the next attempt
+   */
+  long delayNanos(int attempt, long previousDelay) {
+    long initial = initialDelay.toNanos();
+    long max = maxDelay.toNanos();
+    switch (jitter) {
+      case DECORRELATED:
+        long upper = Math.max(initial, Math.min(max, previousDelay * 3));
+        return upper > initial ? ThreadLocalRandom.current().nextLong(initial, upper + 1) : initial;
+      case FULL:
+        return ThreadLocalRandom.current().nextLong(backoff(initial, max, attempt) + 1);
+      default:
+        return backoff(initial, max, attempt);
+    }
+  }
+
+  private long backoff(long initial, long max, int attempt) {
+    double delay = initial * Math.pow(multiplier, attempt - 1);
+    return delay >= max ? max : (long) delay;
+  }
+}
@@ -0,0 +1,93 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link SpanSink} keeping the latest ended spans in a lock free ring
+ * buffer, for local debugging and tests. Once the buffer is full the oldest
+ * spans are overwritten.
+ */
+public final class RingBufferSpanSink implements SpanSink {
+
+  private final AtomicReferenceArray<Span> buffer;
+  private final AtomicLong written = new AtomicLong();
+
+  /**
+   * @param capacity the number of spans kept
+   */
+  public RingBufferSpanSink(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.buffer = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public void onEnd(Span span) {
+    buffer.set((int) (written.getAndIncrement() % buffer.length()), span);
+  }
+
+  /**
+   * @return the kept spans, oldest first
+   */
+  public List<Span> spans() {
+    long end = written.get();
+    long start = Math.max(0, end - buffer.length());
+    List<Span> spans = new ArrayList<>((int) (end - start));
+    for (long i = start; i < end; i++) {
+      Span span = buffer.get((int) (i % buffer.length()));
+      if (span != null) {
+        spans.add(span);
+      }
+    }
+    return Collections.unmodifiableList(spans);
+  }
+
+  /**
+   * @param traceId
+   * @return the kept spans of one trace, oldest first
+   */
+  public List<Span> trace(long traceId) {
+    List<Span> spans = new ArrayList<>();
+    for (Span span : spans()) {
+      if (span.traceId() == traceId) {
+        spans.add(span);
+      }
+    }
+    return Collections.unmodifiableList(spans);
+  }
+
+  /**
+   * Removes all kept spans.
+   */
+  public void clear() {
+    for (int i = 0; i < buffer.length(); i++) {
+      buffer.set(i, null);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides at the root span whether a trace is recorded. All spans of a trace
+ * share the decision of its root.
+ */
+@FunctionalInterface
+public interface Sampler {
+
+  /**
+   * @param rootName the name of the root span
+   * @return true if the trace should be recorded
+   */
+  boolean sample(String rootName);
+
+  /**
+   * @return a sampler recording every trace
+   */
+  static Sampler always() {
+    return rootName -> true;
+  }
+
+  /**
+   * @param ratio between 0 and 1
+   * @return a sampler recording the given share of traces at random
+   */
+  static Sampler ratio(double ratio) {
+    if (!(ratio >= 0 && ratio <= 1)) {
+      throw new IllegalArgumentException("ratio must be between 0 and 1");
+    }
+    return rootName -> ThreadLocalRandom.current().nextDouble() < ratio;
+  }
+}
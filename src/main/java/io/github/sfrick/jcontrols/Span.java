@@ -0,0 +1,51 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+/**
+ * A timed stage of a trace, see {@link Tracing}.
+ * 
+ * @param name          the name of the stage
+ * @param traceId       the id shared by all spans of a trace
+ * @param spanId        the id of this span
+ * @param parentId      the id of the enclosing span, 0 for the root span
+ * @param startNanos    the {@link System#nanoTime()} the stage started at
+ * @param durationNanos the time the stage took, -1 while it is running
+ * @param success       true if the stage ended with a success
+ */
+public record Span(String name, long traceId, long spanId, long parentId, long startNanos, long durationNanos,
+    boolean success) {
+
+  /**
+   * @return true if this is the root span of its trace
+   */
+  public boolean isRoot() {
+    return parentId == 0;
+  }
+
+  /**
+   * @return false for the span passed to {@link SpanSink#onStart(Span)}
+   */
+  public boolean isEnded() {
+    return durationNanos >= 0;
+  }
+}
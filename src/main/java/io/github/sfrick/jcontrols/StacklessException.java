@@ -0,0 +1,67 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A lightweight exception for expected failures like validation misses. It
+ * neither fills in a stack trace nor records suppressed exceptions, so an
+ * instance is immutable and can be shared between threads.
+ */
+public class StacklessException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int MAX_INTERNED = 1024;
+
+  private static final ConcurrentHashMap<String, StacklessException> INTERNED = new ConcurrentHashMap<>();
+
+  /**
+   * @param message the detail message
+   */
+  public StacklessException(String message) {
+    super(message, null, false, false);
+  }
+
+  /**
+   * Returns an interned instance for the given message. Up to
+   * {@value #MAX_INTERNED} distinct messages are interned, further messages get
+   * a fresh, but still stackless, instance.
+   * 
+   * @param message the detail message
+   * @return a stackless exception carrying the message
+   * @throws NullPointerException - if the message is null
+   */
+  public static StacklessException of(String message) {
+    Objects.requireNonNull(message);
+    StacklessException interned = INTERNED.get(message);
+    if (interned != null) {
+      return interned;
+    }
+    if (INTERNED.size() >= MAX_INTERNED) {
+      return new StacklessException(message);
+    }
+    return INTERNED.computeIfAbsent(message, StacklessException::new);
+  }
+}
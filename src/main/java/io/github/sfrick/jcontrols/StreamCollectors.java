@@ -0,0 +1,119 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Implementation of the single pass {@link Collector}s of {@link Either} and
+ * {@link Try}. The combiners append the right partial result to the left one,
+ * so encounter order is kept under {@code parallel()} and every list grows at
+ * most once per merge.
+ */
+final class StreamCollectors {
+
+  private StreamCollectors() {
+  }
+
+  static <E, A> Collector<Either<E, A>, ?, Either.Partition<E, A>> partition() {
+    return Collector.of(Split<E, A>::new, Split::add, Split::merge,
+        split -> new Either.Partition<>(Collections.unmodifiableList(split.failures),
+            Collections.unmodifiableList(split.successes)));
+  }
+
+  static <E, A> Collector<Either<E, A>, ?, List<A>> successes() {
+    return Collector.of(ArrayList<A>::new, (list, either) -> {
+      if (either instanceof Either.Success<E, A> success) {
+        list.add(success.value());
+      }
+    }, (left, right) -> {
+      left.addAll(right);
+      return left;
+    }, Collections::unmodifiableList);
+  }
+
+  static <E, A> Collector<Either<E, A>, ?, Either<List<E>, List<A>>> accumulate() {
+    return Collector.of(Split<E, A>::new, Split::add, Split::merge,
+        split -> split.failures.isEmpty()
+            ? new Either.Success<>(Collections.unmodifiableList(split.successes))
+            : new Either.Failure<>(Collections.unmodifiableList(split.failures)));
+  }
+
+  static <A> Collector<Try<A>, ?, Try<List<A>>> toTryList() {
+    return Collector.of(FirstFailure<A>::new, FirstFailure::add, FirstFailure::merge, FirstFailure::finish);
+  }
+
+  private static final class Split<E, A> {
+    private final List<E> failures = new ArrayList<>();
+    private final List<A> successes = new ArrayList<>();
+
+    void add(Either<E, A> either) {
+      if (either instanceof Either.Success<E, A> success) {
+        successes.add(success.value());
+      } else {
+        failures.add(((Either.Failure<E, A>) either).value());
+      }
+    }
+
+    Split<E, A> merge(Split<E, A> right) {
+      failures.addAll(right.failures);
+      successes.addAll(right.successes);
+      return this;
+    }
+  }
+
+  private static final class FirstFailure<A> {
+    private final List<A> values = new ArrayList<>();
+    private Throwable failure;
+
+    void add(Try<A> result) {
+      if (failure != null) {
+        return;
+      }
+      try {
+        values.add(Traverse.unwrap(result));
+      } catch (Throwable cause) {
+        failure = cause;
+      }
+    }
+
+    FirstFailure<A> merge(FirstFailure<A> right) {
+      if (failure != null) {
+        return this;
+      }
+      if (right.failure != null) {
+        return right;
+      }
+      values.addAll(right.values);
+      return this;
+    }
+
+    Try<List<A>> finish() {
+      return failure != null
+          ? new Try.Failure<>(failure)
+          : new Try.Success<>(Collections.unmodifiableList(values));
+    }
+  }
+}
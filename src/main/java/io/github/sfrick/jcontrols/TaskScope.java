@@ -0,0 +1,257 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs a fixed set of tasks concurrently and joins them, backing
+ * {@link Try#all}, {@link Try#any}, {@link Try#race} and {@link Try#hedged}. Results are consumed
+ * in completion order, {@link #close()} interrupts the tasks that are still
+ * running and waits for them, so no task outlives the call that forked it.
+ * Tasks are forked up front, or one by one up to the capacity of the scope,
+ * as {@link Try#hedged} does.
+ */
+final class TaskScope<A> implements AutoCloseable {
+
+  private static final int FORKED = 0;
+  private static final int STARTED = 1;
+  private static final int SKIPPED = 2;
+
+  private final BlockingQueue<Completion<A>> completions = new LinkedBlockingQueue<>();
+  private final Future<?>[] futures;
+  private final AtomicIntegerArray states;
+  private final CountDownLatch finished;
+  private int forked;
+
+  record Completion<A>(int index, Try<A> result) {
+  }
+
+  TaskScope(int capacity) {
+    this.futures = new Future<?>[capacity];
+    this.states = new AtomicIntegerArray(capacity);
+    this.finished = new CountDownLatch(capacity);
+  }
+
+  private TaskScope(Function0<? extends A>[] tasks) {
+    this(tasks.length);
+    for (Function0<? extends A> task : tasks) {
+      fork(task);
+    }
+  }
+
+  /**
+   * Forks the next task, must be called from the owner of the scope only.
+   * 
+   * @param task
+   * @return the index of the task, used by its {@link Completion}
+   */
+  int fork(Function0<? extends A> task) {
+    int index = forked++;
+    Function0<? extends A> traced = Tracing.propagate(task);
+    try {
+      futures[index] = DefaultExecutor.get().submit(() -> {
+        if (!states.compareAndSet(index, FORKED, STARTED)) {
+          return;
+        }
+        try {
+          completions.add(new Completion<>(index, Try.<A>of(traced::apply)));
+        } finally {
+          finished.countDown();
+        }
+      });
+    } catch (Throwable rejected) {
+      states.set(index, SKIPPED);
+      completions.add(new Completion<>(index, new Try.Failure<>(rejected)));
+      finished.countDown();
+    }
+    return index;
+  }
+
+  Completion<A> take() throws InterruptedException {
+    return completions.take();
+  }
+
+  /**
+   * @return the next completion, or null if none is available right now
+   */
+  Completion<A> poll() {
+    return completions.poll();
+  }
+
+  /**
+   * @param timeoutNanos
+   * @return the next completion, or null if no task completed in time
+   * @throws InterruptedException
+   */
+  Completion<A> poll(long timeoutNanos) throws InterruptedException {
+    return completions.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void close() {
+    for (int i = 0; i < futures.length; i++) {
+      if (states.compareAndSet(i, FORKED, SKIPPED)) {
+        finished.countDown();
+      }
+      if (futures[i] != null) {
+        futures[i].cancel(true);
+      }
+    }
+    boolean interrupted = false;
+    while (true) {
+      try {
+        finished.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A> Try<List<A>> all(Function0<? extends A>[] tasks) {
+    if (tasks.length == 0) {
+      return new Try.Success<>(List.of());
+    }
+    Object[] values = new Object[tasks.length];
+    try (TaskScope<A> scope = new TaskScope<>(tasks)) {
+      for (int i = 0; i < tasks.length; i++) {
+        Completion<A> completion = scope.take();
+        if (completion.result() instanceof Try.Success<A> success) {
+          values[completion.index()] = success.value();
+        } else {
+          return (Try<List<A>>) (Try<?>) completion.result();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Try.Failure<>(e);
+    }
+    return new Try.Success<>((List<A>) Collections.unmodifiableList(Arrays.asList(values)));
+  }
+
+  /**
+   * Waits for all tasks, without cancelling any of them.
+   * 
+   * @return the results in the order of the tasks
+   */
+  static <A> List<Try<A>> settle(Function0<? extends A>[] tasks) throws InterruptedException {
+    Try<A>[] results = newResults(tasks.length);
+    try (TaskScope<A> scope = new TaskScope<>(tasks)) {
+      for (int i = 0; i < tasks.length; i++) {
+        Completion<A> completion = scope.take();
+        results[completion.index()] = completion.result();
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> Try<A>[] newResults(int length) {
+    return (Try<A>[]) new Try<?>[length];
+  }
+
+  static <A> Try<A> any(Function0<? extends A>[] tasks) {
+    if (tasks.length == 0) {
+      return new Try.Failure<>(new NoSuchElementException("No tasks"));
+    }
+    Throwable[] causes = new Throwable[tasks.length];
+    try (TaskScope<A> scope = new TaskScope<>(tasks)) {
+      for (int i = 0; i < tasks.length; i++) {
+        Completion<A> completion = scope.take();
+        if (completion.result() instanceof Try.Failure<A> failure) {
+          causes[completion.index()] = failure.cause();
+        } else {
+          return completion.result();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Try.Failure<>(e);
+    }
+    return new Try.Failure<>(new AllFailedException(Arrays.asList(causes)));
+  }
+
+  static <A> Try<A> race(Function0<? extends A>[] tasks) {
+    if (tasks.length == 0) {
+      return new Try.Failure<>(new NoSuchElementException("No tasks"));
+    }
+    try (TaskScope<A> scope = new TaskScope<>(tasks)) {
+      return scope.take().result();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Try.Failure<>(e);
+    }
+  }
+
+  /**
+   * Feeds the latency of the primary attempt to the policy, measured when the
+   * primary itself completes, not the latency of the call, which hedging
+   * shortens and would drag the delay down. A primary interrupted because the
+   * hedge won reports the time until then, which is still above the delay.
+   */
+  static <A> Try<A> hedged(Function0<? extends A> work, HedgePolicy policy) {
+    long start = System.nanoTime();
+    policy.onCall();
+    try (TaskScope<A> scope = new TaskScope<>(2)) {
+      scope.fork(() -> {
+        try {
+          return work.apply();
+        } finally {
+          policy.record(System.nanoTime() - start);
+        }
+      });
+      Completion<A> first = scope.poll(policy.delayNanos());
+      if (first == null) {
+        if (!policy.tryHedge()) {
+          first = scope.take();
+        } else {
+          scope.fork(work);
+          first = scope.take();
+          if (first.result().isFailure()) {
+            Completion<A> second = scope.take();
+            if (second.result().isSuccess()) {
+              first = second;
+            }
+          }
+        }
+      }
+      return first.result();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Try.Failure<>(e);
+    }
+  }
+}
@@ -0,0 +1,295 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Lightweight tracing of named stages. Once a {@link SpanSink} is installed,
+ * named calls like {@link Try#of(String, Function0)} and stages wrapped with
+ * {@link #map(String, Function)}, {@link #flatMap(String, Function)} or
+ * {@link #flatMapEither(String, Function)} emit a {@link Span} each, linked to
+ * the span enclosing them on the same thread.
+ * <p>
+ * The current span lives in a {@link ThreadLocal}. Work forked by
+ * {@link AsyncTry}, {@link Try#all}, {@link Try#of(Function0, java.time.Duration)}
+ * and the other concurrent operations of this library carries the span of the
+ * forking thread along. Work handed to other executors keeps its parent by
+ * wrapping it with {@link #propagate(Function0)} or {@link #propagate(Runnable)}.
+ * 
+ * <pre>{@code
+ * RingBufferSpanSink sink = new RingBufferSpanSink(1024);
+ * Tracing.install(sink, Sampler.ratio(0.01));
+ * Try<Offer> offer = Try.of("customer", () -> customers.load(id))
+ *     .flatMap(Tracing.flatMap("quote", customer -> Try.of("pricing", () -> pricing.quote(customer))))
+ *     .map(Tracing.map("render", Offer::new));
+ * }</pre>
+ */
+public final class Tracing {
+
+  private record Tracer(SpanSink sink, Sampler sampler) {
+  }
+
+  private record Context(long traceId, long spanId) {
+  }
+
+  private static final Context UNSAMPLED = new Context(0, 0);
+  private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+  private static volatile Tracer tracer;
+
+  private Tracing() {
+  }
+
+  /**
+   * Starts tracing, replacing the installed sink.
+   * 
+   * @param sink    receives the spans of sampled traces
+   * @param sampler decides which traces are sampled
+   */
+  public static void install(SpanSink sink, Sampler sampler) {
+    tracer = new Tracer(Objects.requireNonNull(sink), Objects.requireNonNull(sampler));
+  }
+
+  /**
+   * Stops tracing.
+   */
+  public static void uninstall() {
+    tracer = null;
+  }
+
+  /**
+   * Wraps a mapping function for {@link Try#map(Function)} or
+   * {@link Either#map(Function)} in a span. The span fails if the function
+   * throws.
+   * 
+   * @param <A>
+   * @param <B>
+   * @param name
+   * @param f
+   * @return
+   */
+  public static <A, B> Function<A, B> map(String name, Function<? super A, ? extends B> f) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(f);
+    return a -> {
+      Scope scope = open(name);
+      if (scope == null) {
+        return f.apply(a);
+      }
+      boolean success = false;
+      try {
+        B result = f.apply(a);
+        success = true;
+        return result;
+      } finally {
+        scope.close(success);
+      }
+    };
+  }
+
+  /**
+   * Wraps a mapping function for {@link Try#flatMap(Function)} in a span. The
+   * span fails if the function returns a Failure.
+   * 
+   * @param <A>
+   * @param <B>
+   * @param name
+   * @param f
+   * @return
+   */
+  public static <A, B> Function<A, Try<B>> flatMap(String name, Function<? super A, ? extends Try<B>> f) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(f);
+    return a -> {
+      Scope scope = open(name);
+      if (scope == null) {
+        return f.apply(a);
+      }
+      Try<B> result = null;
+      try {
+        result = f.apply(a);
+        return result;
+      } finally {
+        scope.close(result != null && result.isSuccess());
+      }
+    };
+  }
+
+  /**
+   * Wraps a mapping function for {@link Either#flatMap(Function)} in a span.
+   * The span fails if the function returns a failure.
+   * 
+   * @param <E>
+   * @param <A>
+   * @param <B>
+   * @param name
+   * @param f
+   * @return
+   */
+  public static <E, A, B> Function<A, Either<E, B>> flatMapEither(String name,
+      Function<? super A, ? extends Either<E, B>> f) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(f);
+    return a -> {
+      Scope scope = open(name);
+      if (scope == null) {
+        return f.apply(a);
+      }
+      Either<E, B> result = null;
+      try {
+        result = f.apply(a);
+        return result;
+      } finally {
+        scope.close(result != null && result.isSuccess());
+      }
+    };
+  }
+
+  /**
+   * Captures the current span, so work running on another thread becomes its
+   * child.
+   * 
+   * @param <A>
+   * @param work
+   * @return work running under the span current at the time of this call, or
+   *         work itself, if there is none
+   */
+  public static <A> Function0<A> propagate(Function0<A> work) {
+    Objects.requireNonNull(work);
+    Context context = tracer == null ? null : CURRENT.get();
+    if (context == null) {
+      return work;
+    }
+    return () -> {
+      Context previous = enter(context);
+      try {
+        return work.apply();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * Same as {@link #propagate(Function0)} for a {@link Runnable}.
+   * 
+   * @param task
+   * @return
+   */
+  public static Runnable propagate(Runnable task) {
+    Objects.requireNonNull(task);
+    Context context = tracer == null ? null : CURRENT.get();
+    if (context == null) {
+      return task;
+    }
+    return () -> {
+      Context previous = enter(context);
+      try {
+        task.run();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * Opens a span as child of the current one, or a new trace, if the sampler
+   * agrees.
+   * 
+   * @return the scope to close once the stage ended, or null if tracing is off
+   *         or the trace is not sampled
+   */
+  static Scope open(String name) {
+    Tracer current = tracer;
+    if (current == null) {
+      return null;
+    }
+    Context parent = CURRENT.get();
+    if (parent == UNSAMPLED) {
+      return null;
+    }
+    if (parent == null && !current.sampler().sample(name)) {
+      return new Scope(current, name, null, enter(UNSAMPLED));
+    }
+    long traceId = parent == null ? id() : parent.traceId();
+    Context context = new Context(traceId, id());
+    return new Scope(current, name, context, enter(context));
+  }
+
+  private static long id() {
+    long id;
+    do {
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0);
+    return id;
+  }
+
+  private static Context enter(Context context) {
+    Context previous = CURRENT.get();
+    CURRENT.set(context);
+    return previous;
+  }
+
+  private static void restore(Context previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * An open span, closing it restores the enclosing span.
+   */
+  static final class Scope {
+    private final Tracer tracer;
+    private final String name;
+    private final Context context;
+    private final Context parent;
+    private final long start;
+
+    private Scope(Tracer tracer, String name, Context context, Context parent) {
+      this.tracer = tracer;
+      this.name = name;
+      this.context = context;
+      this.parent = parent;
+      this.start = System.nanoTime();
+      if (context != null) {
+        tracer.sink().onStart(span(-1, false));
+      }
+    }
+
+    void close(boolean success) {
+      restore(parent);
+      if (context != null) {
+        tracer.sink().onEnd(span(System.nanoTime() - start, success));
+      }
+    }
+
+    private Span span(long duration, boolean success) {
+      return new Span(name, context.traceId(), context.spanId(), parent == null ? 0 : parent.spanId(), start,
+          duration, success);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link Try#traverse}, {@link Try#sequence} and their
+ * parallel variants.
+ */
+final class Traverse {
+
+  private static final int SPLITS_PER_WORKER = 4;
+
+  private Traverse() {
+  }
+
+  static <T, R> Try<List<R>> sequential(Collection<? extends T> items, Function1<? super T, ? extends R> f) {
+    Objects.requireNonNull(items);
+    Objects.requireNonNull(f);
+    List<R> results = new ArrayList<>(items.size());
+    try {
+      for (T item : items) {
+        results.add(f.apply(item));
+      }
+    } catch (Throwable cause) {
+      return new Try.Failure<>(cause);
+    }
+    return new Try.Success<>(Collections.unmodifiableList(results));
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T, R> Try<List<R>> parallel(Collection<? extends T> items, Function1<? super T, ? extends R> f,
+      ForkJoinPool pool) {
+    Objects.requireNonNull(items);
+    Objects.requireNonNull(f);
+    Objects.requireNonNull(pool);
+    Object[] input = items.toArray();
+    Object[] output = new Object[input.length];
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    int threshold = Math.max(1, input.length / (pool.getParallelism() * SPLITS_PER_WORKER));
+    pool.invoke(new Chunk(input, output, 0, input.length, threshold, (Function1<Object, Object>) f, failure));
+    Throwable cause = failure.get();
+    if (cause != null) {
+      return new Try.Failure<>(cause);
+    }
+    return new Try.Success<>((List<R>) Collections.unmodifiableList(Arrays.asList(output)));
+  }
+
+  static <R> R unwrap(Try<R> result) throws Throwable {
+    Objects.requireNonNull(result);
+    if (result instanceof Try.Failure<R> failure) {
+      throw failure.cause();
+    }
+    return ((Try.Success<R>) result).value();
+  }
+
+  static <R> R unwrapDeferred(Supplier<? extends Try<R>> deferred) throws Throwable {
+    Objects.requireNonNull(deferred);
+    return unwrap(deferred.get());
+  }
+
+  private static final class Chunk extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] input;
+    private final Object[] output;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final Function1<Object, Object> f;
+    private final AtomicReference<Throwable> failure;
+
+    Chunk(Object[] input, Object[] output, int from, int to, int threshold, Function1<Object, Object> f,
+        AtomicReference<Throwable> failure) {
+      this.input = input;
+      this.output = output;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+      this.f = f;
+      this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+      if (failure.get() != null) {
+        return;
+      }
+      if (to - from <= threshold) {
+        for (int i = from; i < to && failure.get() == null; i++) {
+          try {
+            output[i] = f.apply(input[i]);
+          } catch (Throwable cause) {
+            failure.compareAndSet(null, cause);
+          }
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new Chunk(input, output, from, mid, threshold, f, failure),
+          new Chunk(input, output, mid, to, threshold, f, failure));
+    }
+  }
+}
@@ -21,11 +21,19 @@
 // SOFTWARE.
 package io.github.sfrick.jcontrols;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 public sealed interface Try<A> permits Try.Failure, Try.Success {
   /**
@@ -34,7 +42,7 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
    * @return
    */
   static <A> Try<A> success(A value) {
-    return new Success<>(value);
+    return Canonical.trySuccess(value);
   }
 
   /**
@@ -46,6 +54,19 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
     return new Failure<>(cause);
   }
 
+  /**
+   * Constructs a Failure for an expected outcome, e.g. a validation miss. The
+   * cause is an interned {@link StacklessException}, so no stack trace is
+   * filled in.
+   * 
+   * @param <A>
+   * @param message the message of the {@link StacklessException}
+   * @return
+   */
+  static <A> Try<A> failureLite(String message) {
+    return new Failure<>(StacklessException.of(message));
+  }
+
   /**
    * @param runnable
    * @return
@@ -54,21 +75,388 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
     Objects.requireNonNull(runnable);
     try {
       runnable.run();
-      return new Success<Void>(null);
+      return Canonical.trySuccess(null);
     } catch (Throwable t) {
-      return new Failure<>(t);
+      return Instrumentation.failure(null, t);
     }
   }
 
   static <A> Try<A> of(Function0<A> work) {
     Objects.requireNonNull(work);
     try {
-      return new Success<A>(work.apply());
+      return Canonical.trySuccess(work.apply());
     } catch (Throwable t) {
-      return new Failure<>(t);
+      return Instrumentation.failure(null, t);
     }
   }
 
+  /**
+   * Starts an empty, reusable {@link TryPipeline}.
+   * 
+   * @param <A> the input type of the pipeline
+   * @return
+   */
+  static <A> TryPipeline<A, A> pipeline() {
+    return TryPipeline.identity();
+  }
+
+  /**
+   * Defers the work until the result is first accessed. The work runs at most
+   * once, even if the result is accessed by many threads at the same time.
+   * {@code map}, {@code flatMap}, {@code filter} and {@code or} on the returned
+   * {@link LazyTry} are deferred as well.
+   * 
+   * @param <A>
+   * @param work
+   * @return
+   */
+  static <A> LazyTry<A> lazy(Function0<A> work) {
+    Objects.requireNonNull(work);
+    return new LazyTry<>(() -> Try.of(work));
+  }
+
+  /**
+   * Runs the work asynchronously on a virtual thread, if the runtime supports
+   * them, otherwise on a cached pool of daemon threads.
+   * 
+   * @param <A>
+   * @param work
+   * @return
+   */
+  static <A> AsyncTry<A> async(Function0<A> work) {
+    return AsyncTry.of(work);
+  }
+
+  /**
+   * Runs the work asynchronously on the given executor.
+   * 
+   * @param <A>
+   * @param work
+   * @param executor
+   * @return
+   */
+  static <A> AsyncTry<A> async(Function0<A> work, Executor executor) {
+    return AsyncTry.of(work, executor);
+  }
+
+  /**
+   * Applies the function to every item, one after another, and stops at the
+   * first failure.
+   * 
+   * @param <T>
+   * @param <R>
+   * @param items
+   * @param f
+   * @return Success with the results in iteration order, otherwise the Failure
+   *         of the first failing item.
+   */
+  static <T, R> Try<List<R>> traverse(Collection<? extends T> items, Function1<? super T, ? extends R> f) {
+    return Traverse.sequential(items, f);
+  }
+
+  /**
+   * Like {@link #traverse(Collection, Function1)}, but splits the items across
+   * the common {@link ForkJoinPool}. All workers stop early once any item has
+   * failed. If several items fail concurrently, the Failure of the one that
+   * failed first in time is returned.
+   * 
+   * @param <T>
+   * @param <R>
+   * @param items
+   * @param f
+   * @return
+   */
+  static <T, R> Try<List<R>> traverseParallel(Collection<? extends T> items, Function1<? super T, ? extends R> f) {
+    return Traverse.parallel(items, f, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Like {@link #traverseParallel(Collection, Function1)}, but on the given
+   * pool.
+   * 
+   * @param <T>
+   * @param <R>
+   * @param items
+   * @param f
+   * @param pool
+   * @return
+   */
+  static <T, R> Try<List<R>> traverseParallel(Collection<? extends T> items, Function1<? super T, ? extends R> f,
+      ForkJoinPool pool) {
+    return Traverse.parallel(items, f, pool);
+  }
+
+  /**
+   * Turns a collection of Try into a Try of a list.
+   * 
+   * @param <R>
+   * @param tries
+   * @return Success with all success values in iteration order, otherwise the
+   *         first Failure.
+   */
+  static <R> Try<List<R>> sequence(Collection<? extends Try<R>> tries) {
+    return Traverse.sequential(tries, Traverse::unwrap);
+  }
+
+  /**
+   * Like {@link #sequence(Collection)}, but evaluates deferred tries, e.g.
+   * {@link #lazy(Function0) lazy} ones, in parallel on the common
+   * {@link ForkJoinPool}.
+   * 
+   * @param <R>
+   * @param tries
+   * @return
+   */
+  static <R> Try<List<R>> sequenceParallel(Collection<? extends Supplier<? extends Try<R>>> tries) {
+    return Traverse.parallel(tries, Traverse::unwrapDeferred, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns a {@link Collector} that collects all success values into a list.
+   * Once a Failure is collected, further elements are skipped, but the stream
+   * itself is still consumed.
+   * 
+   * @param <A>
+   * @return a collector into Success with all success values in encounter
+   *         order, otherwise the first Failure in encounter order.
+   */
+  static <A> Collector<Try<A>, ?, Try<List<A>>> toTryList() {
+    return StreamCollectors.toTryList();
+  }
+
+  /**
+   * @param <A>
+   * @param optional
+   * @return Success with the value of the optional, otherwise a shared Failure
+   *         with a {@link StacklessException}.
+   */
+  static <A> Try<A> fromOptional(Optional<A> optional) {
+    Objects.requireNonNull(optional);
+    return optional.isPresent() ? Canonical.trySuccess(optional.get()) : Canonical.emptyOptional();
+  }
+
+  /**
+   * Runs the work and retries failures as described by the policy. Between
+   * attempts the calling thread sleeps, which on a virtual thread releases its
+   * carrier thread.
+   * 
+   * @param <A>
+   * @param work
+   * @param policy
+   * @return the first Success, otherwise the Failure of the last attempt.
+   */
+  static <A> Try<A> retry(Function0<A> work, RetryPolicy policy) {
+    return Retry.blocking(work, policy);
+  }
+
+  /**
+   * Like {@link #retry(Function0, RetryPolicy)}, but every attempt runs on the
+   * default executor of {@link #async(Function0)}. Delays are scheduled, no
+   * thread is blocked while waiting for the next attempt.
+   * 
+   * @param <A>
+   * @param work
+   * @param policy
+   * @return
+   */
+  static <A> AsyncTry<A> retryAsync(Function0<A> work, RetryPolicy policy) {
+    return Retry.async(work, policy, DefaultExecutor.get());
+  }
+
+  /**
+   * Like {@link #retryAsync(Function0, RetryPolicy)}, but every attempt runs on
+   * the given executor.
+   * 
+   * @param <A>
+   * @param work
+   * @param policy
+   * @param executor
+   * @return
+   */
+  static <A> AsyncTry<A> retryAsync(Function0<A> work, RetryPolicy policy, Executor executor) {
+    return Retry.async(work, policy, executor);
+  }
+
+  /**
+   * Like {@link #of(Function0)}, but reports the outcome and latency of the work
+   * under the given name to the installed {@link TryMetrics}, if any, as
+   * {@code io.github.sfrick.jcontrols.TryExecution} JFR event, if enabled, and
+   * as {@link Span}, if {@link Tracing} is installed.
+   * 
+   * @param <A>
+   * @param name
+   * @param work
+   * @return
+   */
+  static <A> Try<A> of(String name, Function0<A> work) {
+    Objects.requireNonNull(name);
+    Objects.requireNonNull(work);
+    return Instrumentation.run(name, work);
+  }
+
+  /**
+   * Runs the work on a virtual thread, if the runtime supports them, and waits
+   * at most for the given timeout. On expiry the work is interrupted.
+   * 
+   * @param <A>
+   * @param work
+   * @param timeout
+   * @return the result of the work, otherwise a Failure with a
+   *         {@link java.util.concurrent.TimeoutException}
+   */
+  static <A> Try<A> of(Function0<A> work, Duration timeout) {
+    Objects.requireNonNull(work);
+    Objects.requireNonNull(timeout);
+    return Timeout.run(work, timeout.toNanos());
+  }
+
+  /**
+   * Runs all tasks concurrently, on virtual threads if the runtime supports
+   * them. The first failure interrupts the remaining tasks. No task outlives
+   * this call.
+   * 
+   * @param <A>
+   * @param tasks
+   * @return Success with the results in the order of the tasks, otherwise the
+   *         first Failure.
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  static <A> Try<List<A>> all(Function0<? extends A>... tasks) {
+    return TaskScope.all(tasks.clone());
+  }
+
+  /**
+   * Runs all tasks concurrently, the first success interrupts the remaining
+   * tasks. No task outlives this call.
+   * 
+   * @param <A>
+   * @param tasks
+   * @return the first Success, otherwise a Failure with an
+   *         {@link AllFailedException} holding the causes of all tasks.
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  static <A> Try<A> any(Function0<? extends A>... tasks) {
+    return TaskScope.any(tasks.clone());
+  }
+
+  /**
+   * Runs all tasks concurrently, the first completed task, whether it succeeds
+   * or fails, interrupts the remaining tasks. No task outlives this call.
+   * 
+   * @param <A>
+   * @param tasks
+   * @return the result of the first completed task
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  static <A> Try<A> race(Function0<? extends A>... tasks) {
+    return TaskScope.race(tasks.clone());
+  }
+
+  /**
+   * Runs the work and, if it has not finished within the delay of the policy,
+   * a second, speculative attempt. The first success wins, the other attempt
+   * is interrupted.
+   * 
+   * @param <A>
+   * @param work
+   * @param policy
+   * @return the first Success, otherwise the Failure of the first attempt to
+   *         complete.
+   */
+  static <A> Try<A> hedged(Function0<? extends A> work, HedgePolicy policy) {
+    Objects.requireNonNull(work);
+    Objects.requireNonNull(policy);
+    return TaskScope.hedged(work, policy);
+  }
+
+  /**
+   * Runs the 2 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their values. The first failure interrupts the other
+   * inputs.
+   * 
+   * @return the result of the combiner, otherwise the first Failure
+   */
+  @SuppressWarnings("unchecked")
+  static <A1, A2, R> Try<R> zip(Function0<? extends A1> a1,
+      Function0<? extends A2> a2,
+      Function2<? super A1, ? super A2, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.tries(new Function0<?>[] { a1, a2 })
+        .flatMap(v -> Try.of(() -> combiner.apply((A1) v.get(0), (A2) v.get(1))));
+  }
+
+  /**
+   * Runs the 3 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their values. The first failure interrupts the other
+   * inputs.
+   * 
+   * @return the result of the combiner, otherwise the first Failure
+   */
+  @SuppressWarnings("unchecked")
+  static <A1, A2, A3, R> Try<R> zip(Function0<? extends A1> a1,
+      Function0<? extends A2> a2,
+      Function0<? extends A3> a3,
+      Function3<? super A1, ? super A2, ? super A3, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.tries(new Function0<?>[] { a1, a2, a3 })
+        .flatMap(v -> Try.of(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2))));
+  }
+
+  /**
+   * Runs the 4 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their values. The first failure interrupts the other
+   * inputs.
+   * 
+   * @return the result of the combiner, otherwise the first Failure
+   */
+  @SuppressWarnings("unchecked")
+  static <A1, A2, A3, A4, R> Try<R> zip(Function0<? extends A1> a1,
+      Function0<? extends A2> a2,
+      Function0<? extends A3> a3,
+      Function0<? extends A4> a4,
+      Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.tries(new Function0<?>[] { a1, a2, a3, a4 })
+        .flatMap(v -> Try.of(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3))));
+  }
+
+  /**
+   * Runs the 5 inputs concurrently, on virtual threads if the runtime supports
+   * them, and combines their values. The first failure interrupts the other
+   * inputs.
+   * 
+   * @return the result of the combiner, otherwise the first Failure
+   */
+  @SuppressWarnings("unchecked")
+  static <A1, A2, A3, A4, A5, R> Try<R> zip(Function0<? extends A1> a1,
+      Function0<? extends A2> a2,
+      Function0<? extends A3> a3,
+      Function0<? extends A4> a4,
+      Function0<? extends A5> a5,
+      Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends R> combiner) {
+    Objects.requireNonNull(combiner);
+    return Zip.tries(new Function0<?>[] { a1, a2, a3, a4, a5 })
+        .flatMap(v -> Try.of(() -> combiner.apply((A1) v.get(0), (A2) v.get(1), (A3) v.get(2), (A4) v.get(3), (A5) v.get(4))));
+  }
+
+  /**
+   * Like {@link #withResource(Function0)}, but leases the resource from the
+   * pool and returns it on exit, instead of creating and closing it on every
+   * call. A lease timeout results in a Failure with a
+   * {@link CallNotPermittedException}.
+   * 
+   * @param <A>
+   * @param pool
+   * @return
+   */
+  static <A> WithResouce1<ResourcePool.Lease<A>> withPooled(ResourcePool<A> pool) {
+    Objects.requireNonNull(pool);
+    return new WithResouce1<>(pool::lease);
+  }
+
   static <A extends AutoCloseable> WithResouce1<A> withResource(Function0<A> resource) {
     return new WithResouce1<>(resource);
   }
@@ -140,6 +528,16 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
 
   Try<A> filter(Predicate<A> predicate, Supplier<? extends Throwable> throwable);
 
+  /**
+   * Like {@link #filter(Predicate, Supplier)}, but fails with an interned
+   * {@link StacklessException} instead of constructing a new Throwable.
+   * 
+   * @param predicate
+   * @param message   the message of the {@link StacklessException}
+   * @return
+   */
+  Try<A> filter(Predicate<A> predicate, String message);
+
   record Success<T>(T value) implements Try<T> {
     @Override
     public <B> Try<B> flatMap(Function<? super T, ? extends Try<B>> f) {
@@ -197,6 +595,13 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       Objects.requireNonNull(throwable);
       return predicate.test(this.value()) ? this : Try.failure(throwable.get());
     }
+
+    @Override
+    public Try<T> filter(Predicate<T> predicate, String message) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(message);
+      return predicate.test(this.value()) ? this : Try.failureLite(message);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -256,6 +661,13 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       Objects.requireNonNull(throwable);
       return Try.failure(throwable.get());
     }
+
+    @Override
+    public Try<T> filter(Predicate<T> predicate, String message) {
+      Objects.requireNonNull(predicate);
+      Objects.requireNonNull(message);
+      return Try.failureLite(message);
+    }
   }
 
   record WithResouce1<A1 extends AutoCloseable>(Function0<A1> resource) {
@@ -263,7 +675,16 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       return new WithResouce2<A1, A2>(resource, resource2);
     }
 
+    public <A2> WithResouce2<A1, ResourcePool.Lease<A2>> withPooled(ResourcePool<A2> pool) {
+      Objects.requireNonNull(pool);
+      return withResource(pool::lease);
+    }
+
+    @SuppressWarnings("unchecked")
     public <B> Try<B> of(Function1<? super A1, ? extends B> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource }, r -> work.apply((A1) r[0]));
+      }
       return Try.of(() -> {
         try (A1 a = resource.apply()) {
           return work.apply(a);
@@ -271,13 +692,89 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       });
     }
 
+    @SuppressWarnings("unchecked")
     public Try<Void> ofConsumer(CheckedConsumer1<A1> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource }, r -> {
+          work.apply((A1) r[0]);
+          return null;
+        });
+      }
       return Try.ofRunnable(() -> {
         try (A1 a = resource.apply()) {
           work.apply(a);
         }
       });
     }
+
+    /**
+     * Opens the resources once and applies the work to every item, in a single
+     * try-with-resources block.
+     * 
+     * @return Success with the results in the order of the items, otherwise the
+     *         Failure of the first failing item, or of opening or closing the
+     *         resources
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Try<List<B>> ofAll(Iterable<? extends T> items, Function2<? super A1, ? super T, ? extends B> work) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      return Resources.all(new Function0<?>[] { resource }, items, (r, t) -> work.apply((A1) r[0], t));
+    }
+
+    /**
+     * Same as {@link #ofEach(Iterable, Function2, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function2<? super A1, ? super T, ? extends B> work) {
+      return ofEach(items, work, cause -> false);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item. An item
+     * failing with a cause that poisons the resources closes them, they are
+     * reopened for the next item. If opening fails, all remaining items fail
+     * with the same cause. Exceptions thrown while closing the resources are
+     * reported on the result of the item processed last before closing.
+     * 
+     * @return the result of every item in the order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function2<? super A1, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.each(new Function0<?>[] { resource }, items, (r, t) -> work.apply((A1) r[0], t), poisons);
+    }
+
+    /**
+     * Same as {@link #ofStream(Stream, Function2, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function2<? super A1, ? super T, ? extends B> work) {
+      return ofStream(items, work, cause -> false);
+    }
+
+    /**
+     * Lazy variant of {@link #ofEach(Iterable, Function2, Predicate)}. The
+     * resources are opened with the first item and closed with the returned
+     * stream, so it must be closed, e.g. in a try-with-resources block. An
+     * exception thrown while closing the resources is rethrown by
+     * {@link Stream#close()}. The resources are used by one item at a time, so
+     * the stream must not be made parallel, applying the work on a second
+     * thread throws an {@link IllegalStateException}.
+     * 
+     * @return a sequential stream of the results of every item
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function2<? super A1, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.stream(new Function0<?>[] { resource }, items, (r, t) -> work.apply((A1) r[0], t), poisons);
+    }
   }
 
   record WithResouce2<A1 extends AutoCloseable, A2 extends AutoCloseable>(Function0<A1> resource1,
@@ -286,7 +783,16 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       return new WithResouce3<A1, A2, A3>(resource1, resource2, resource3);
     }
 
+    public <A3> WithResouce3<A1, A2, ResourcePool.Lease<A3>> withPooled(ResourcePool<A3> pool) {
+      Objects.requireNonNull(pool);
+      return withResource(pool::lease);
+    }
+
+    @SuppressWarnings("unchecked")
     public <B> Try<B> of(Function2<? super A1, ? super A2, ? extends B> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2 }, r -> work.apply((A1) r[0], (A2) r[1]));
+      }
       return Try.of(() -> {
         try (A1 a1 = resource1.apply(); A2 a2 = resource2.apply()) {
           return work.apply(a1, a2);
@@ -294,13 +800,113 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       });
     }
 
+    @SuppressWarnings("unchecked")
     public Try<Void> ofConsumer(CheckedConsumer2<A1, A2> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2 }, r -> {
+          work.apply((A1) r[0], (A2) r[1]);
+          return null;
+        });
+      }
       return Try.ofRunnable(() -> {
         try (A1 a1 = resource1.apply(); A2 a2 = resource2.apply()) {
           work.apply(a1, a2);
         }
       });
     }
+
+    /**
+     * Like {@link #of(Function2)}, but opens the resources concurrently, on
+     * virtual threads if the runtime supports them. If a resource fails to open,
+     * the ones opened anyway are closed, their close exceptions are suppressed
+     * by the cause of the Failure.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function2<? super A1, ? super A2, ? extends B> work) {
+      Objects.requireNonNull(work);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2 }, r -> work.apply((A1) r[0], (A2) r[1]), null);
+    }
+
+    /**
+     * Like {@link #ofConcurrent(Function2)}, but the resources are closed
+     * asynchronously, after the result has been returned. Exceptions thrown while
+     * closing are passed to the handler.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function2<? super A1, ? super A2, ? extends B> work, Consumer<? super Throwable> onCloseFailure) {
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(onCloseFailure);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2 }, r -> work.apply((A1) r[0], (A2) r[1]), onCloseFailure);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item, in a single
+     * try-with-resources block.
+     * 
+     * @return Success with the results in the order of the items, otherwise the
+     *         Failure of the first failing item, or of opening or closing the
+     *         resources
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Try<List<B>> ofAll(Iterable<? extends T> items, Function3<? super A1, ? super A2, ? super T, ? extends B> work) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      return Resources.all(new Function0<?>[] { resource1, resource2 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], t));
+    }
+
+    /**
+     * Same as {@link #ofEach(Iterable, Function3, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function3<? super A1, ? super A2, ? super T, ? extends B> work) {
+      return ofEach(items, work, cause -> false);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item. An item
+     * failing with a cause that poisons the resources closes them, they are
+     * reopened for the next item. If opening fails, all remaining items fail
+     * with the same cause. Exceptions thrown while closing the resources are
+     * reported on the result of the item processed last before closing.
+     * 
+     * @return the result of every item in the order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function3<? super A1, ? super A2, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.each(new Function0<?>[] { resource1, resource2 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], t), poisons);
+    }
+
+    /**
+     * Same as {@link #ofStream(Stream, Function3, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function3<? super A1, ? super A2, ? super T, ? extends B> work) {
+      return ofStream(items, work, cause -> false);
+    }
+
+    /**
+     * Lazy variant of {@link #ofEach(Iterable, Function3, Predicate)}. The
+     * resources are opened with the first item and closed with the returned
+     * stream, so it must be closed, e.g. in a try-with-resources block. An
+     * exception thrown while closing the resources is rethrown by
+     * {@link Stream#close()}. The resources are used by one item at a time, so
+     * the stream must not be made parallel, applying the work on a second
+     * thread throws an {@link IllegalStateException}.
+     * 
+     * @return a sequential stream of the results of every item
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function3<? super A1, ? super A2, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.stream(new Function0<?>[] { resource1, resource2 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], t), poisons);
+    }
   }
 
   record WithResouce3<A1 extends AutoCloseable, A2 extends AutoCloseable, A3 extends AutoCloseable>(
@@ -309,7 +915,16 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       return new WithResouce4<>(resource1, resource2, resource3, resource4);
     }
 
+    public <A4> WithResouce4<A1, A2, A3, ResourcePool.Lease<A4>> withPooled(ResourcePool<A4> pool) {
+      Objects.requireNonNull(pool);
+      return withResource(pool::lease);
+    }
+
+    @SuppressWarnings("unchecked")
     public <B> Try<B> of(Function3<? super A1, ? super A2, ? super A3, ? extends B> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2]));
+      }
       return Try.of(() -> {
         try (A1 a1 = resource1.apply(); A2 a2 = resource2.apply(); A3 a3 = resource3.apply()) {
           return work.apply(a1, a2, a3);
@@ -317,13 +932,113 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       });
     }
 
+    @SuppressWarnings("unchecked")
     public Try<Void> ofConsumer(CheckedConsumer3<A1, A2, A3> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3 }, r -> {
+          work.apply((A1) r[0], (A2) r[1], (A3) r[2]);
+          return null;
+        });
+      }
       return Try.ofRunnable(() -> {
         try (A1 a1 = resource1.apply(); A2 a2 = resource2.apply(); A3 a3 = resource3.apply()) {
           work.apply(a1, a2, a3);
         }
       });
     }
+
+    /**
+     * Like {@link #of(Function3)}, but opens the resources concurrently, on
+     * virtual threads if the runtime supports them. If a resource fails to open,
+     * the ones opened anyway are closed, their close exceptions are suppressed
+     * by the cause of the Failure.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function3<? super A1, ? super A2, ? super A3, ? extends B> work) {
+      Objects.requireNonNull(work);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2]), null);
+    }
+
+    /**
+     * Like {@link #ofConcurrent(Function3)}, but the resources are closed
+     * asynchronously, after the result has been returned. Exceptions thrown while
+     * closing are passed to the handler.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function3<? super A1, ? super A2, ? super A3, ? extends B> work, Consumer<? super Throwable> onCloseFailure) {
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(onCloseFailure);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2]), onCloseFailure);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item, in a single
+     * try-with-resources block.
+     * 
+     * @return Success with the results in the order of the items, otherwise the
+     *         Failure of the first failing item, or of opening or closing the
+     *         resources
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Try<List<B>> ofAll(Iterable<? extends T> items, Function4<? super A1, ? super A2, ? super A3, ? super T, ? extends B> work) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      return Resources.all(new Function0<?>[] { resource1, resource2, resource3 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], t));
+    }
+
+    /**
+     * Same as {@link #ofEach(Iterable, Function4, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function4<? super A1, ? super A2, ? super A3, ? super T, ? extends B> work) {
+      return ofEach(items, work, cause -> false);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item. An item
+     * failing with a cause that poisons the resources closes them, they are
+     * reopened for the next item. If opening fails, all remaining items fail
+     * with the same cause. Exceptions thrown while closing the resources are
+     * reported on the result of the item processed last before closing.
+     * 
+     * @return the result of every item in the order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function4<? super A1, ? super A2, ? super A3, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.each(new Function0<?>[] { resource1, resource2, resource3 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], t), poisons);
+    }
+
+    /**
+     * Same as {@link #ofStream(Stream, Function4, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function4<? super A1, ? super A2, ? super A3, ? super T, ? extends B> work) {
+      return ofStream(items, work, cause -> false);
+    }
+
+    /**
+     * Lazy variant of {@link #ofEach(Iterable, Function4, Predicate)}. The
+     * resources are opened with the first item and closed with the returned
+     * stream, so it must be closed, e.g. in a try-with-resources block. An
+     * exception thrown while closing the resources is rethrown by
+     * {@link Stream#close()}. The resources are used by one item at a time, so
+     * the stream must not be made parallel, applying the work on a second
+     * thread throws an {@link IllegalStateException}.
+     * 
+     * @return a sequential stream of the results of every item
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function4<? super A1, ? super A2, ? super A3, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.stream(new Function0<?>[] { resource1, resource2, resource3 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], t), poisons);
+    }
   }
 
   record WithResouce4<A1 extends AutoCloseable, A2 extends AutoCloseable, A3 extends AutoCloseable, A4 extends AutoCloseable>(
@@ -332,7 +1047,16 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       return new WithResouce5<>(resource1, resource2, resource3, resource4, resource5);
     }
 
+    public <A5> WithResouce5<A1, A2, A3, A4, ResourcePool.Lease<A5>> withPooled(ResourcePool<A5> pool) {
+      Objects.requireNonNull(pool);
+      return withResource(pool::lease);
+    }
+
+    @SuppressWarnings("unchecked")
     public <B> Try<B> of(Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends B> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3, resource4 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3]));
+      }
       return Try.of(() -> {
         try (A1 a1 = resource1.apply();
             A2 a2 = resource2.apply();
@@ -343,7 +1067,14 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       });
     }
 
+    @SuppressWarnings("unchecked")
     public Try<Void> ofConsumer(CheckedConsumer4<A1, A2, A3, A4> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3, resource4 }, r -> {
+          work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3]);
+          return null;
+        });
+      }
       return Try.ofRunnable(() -> {
         try (A1 a1 = resource1.apply();
             A2 a2 = resource2.apply();
@@ -353,12 +1084,109 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
         }
       });
     }
+
+    /**
+     * Like {@link #of(Function4)}, but opens the resources concurrently, on
+     * virtual threads if the runtime supports them. If a resource fails to open,
+     * the ones opened anyway are closed, their close exceptions are suppressed
+     * by the cause of the Failure.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends B> work) {
+      Objects.requireNonNull(work);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3, resource4 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3]), null);
+    }
+
+    /**
+     * Like {@link #ofConcurrent(Function4)}, but the resources are closed
+     * asynchronously, after the result has been returned. Exceptions thrown while
+     * closing are passed to the handler.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function4<? super A1, ? super A2, ? super A3, ? super A4, ? extends B> work, Consumer<? super Throwable> onCloseFailure) {
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(onCloseFailure);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3, resource4 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3]), onCloseFailure);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item, in a single
+     * try-with-resources block.
+     * 
+     * @return Success with the results in the order of the items, otherwise the
+     *         Failure of the first failing item, or of opening or closing the
+     *         resources
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Try<List<B>> ofAll(Iterable<? extends T> items, Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super T, ? extends B> work) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      return Resources.all(new Function0<?>[] { resource1, resource2, resource3, resource4 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], t));
+    }
+
+    /**
+     * Same as {@link #ofEach(Iterable, Function5, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super T, ? extends B> work) {
+      return ofEach(items, work, cause -> false);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item. An item
+     * failing with a cause that poisons the resources closes them, they are
+     * reopened for the next item. If opening fails, all remaining items fail
+     * with the same cause. Exceptions thrown while closing the resources are
+     * reported on the result of the item processed last before closing.
+     * 
+     * @return the result of every item in the order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.each(new Function0<?>[] { resource1, resource2, resource3, resource4 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], t), poisons);
+    }
+
+    /**
+     * Same as {@link #ofStream(Stream, Function5, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super T, ? extends B> work) {
+      return ofStream(items, work, cause -> false);
+    }
+
+    /**
+     * Lazy variant of {@link #ofEach(Iterable, Function5, Predicate)}. The
+     * resources are opened with the first item and closed with the returned
+     * stream, so it must be closed, e.g. in a try-with-resources block. An
+     * exception thrown while closing the resources is rethrown by
+     * {@link Stream#close()}. The resources are used by one item at a time, so
+     * the stream must not be made parallel, applying the work on a second
+     * thread throws an {@link IllegalStateException}.
+     * 
+     * @return a sequential stream of the results of every item
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.stream(new Function0<?>[] { resource1, resource2, resource3, resource4 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], t), poisons);
+    }
   }
 
   record WithResouce5<A1 extends AutoCloseable, A2 extends AutoCloseable, A3 extends AutoCloseable, A4 extends AutoCloseable, A5 extends AutoCloseable>(
       Function0<A1> resource1, Function0<A2> resource2, Function0<A3> resource3, Function0<A4> resource4,
       Function0<A5> resource5) {
+    @SuppressWarnings("unchecked")
     public <B> Try<B> of(Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends B> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4]));
+      }
       return Try.of(() -> {
         try (A1 a1 = resource1.apply();
             A2 a2 = resource2.apply();
@@ -370,7 +1198,14 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
       });
     }
 
+    @SuppressWarnings("unchecked")
     public Try<Void> ofConsumer(CheckedConsumer5<A1, A2, A3, A4, A5> work) {
+      if (Instrumentation.leaseEnabled()) {
+        return Resources.leased(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, r -> {
+          work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4]);
+          return null;
+        });
+      }
       return Try.ofRunnable(() -> {
         try (A1 a1 = resource1.apply();
             A2 a2 = resource2.apply();
@@ -381,5 +1216,98 @@ public sealed interface Try<A> permits Try.Failure, Try.Success {
         }
       });
     }
+
+    /**
+     * Like {@link #of(Function5)}, but opens the resources concurrently, on
+     * virtual threads if the runtime supports them. If a resource fails to open,
+     * the ones opened anyway are closed, their close exceptions are suppressed
+     * by the cause of the Failure.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends B> work) {
+      Objects.requireNonNull(work);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4]), null);
+    }
+
+    /**
+     * Like {@link #ofConcurrent(Function5)}, but the resources are closed
+     * asynchronously, after the result has been returned. Exceptions thrown while
+     * closing are passed to the handler.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Try<B> ofConcurrent(Function5<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? extends B> work, Consumer<? super Throwable> onCloseFailure) {
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(onCloseFailure);
+      return Resources.concurrent(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, r -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4]), onCloseFailure);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item, in a single
+     * try-with-resources block.
+     * 
+     * @return Success with the results in the order of the items, otherwise the
+     *         Failure of the first failing item, or of opening or closing the
+     *         resources
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Try<List<B>> ofAll(Iterable<? extends T> items, Function6<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? super T, ? extends B> work) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      return Resources.all(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4], t));
+    }
+
+    /**
+     * Same as {@link #ofEach(Iterable, Function6, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function6<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? super T, ? extends B> work) {
+      return ofEach(items, work, cause -> false);
+    }
+
+    /**
+     * Opens the resources once and applies the work to every item. An item
+     * failing with a cause that poisons the resources closes them, they are
+     * reopened for the next item. If opening fails, all remaining items fail
+     * with the same cause. Exceptions thrown while closing the resources are
+     * reported on the result of the item processed last before closing.
+     * 
+     * @return the result of every item in the order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> List<Try<B>> ofEach(Iterable<? extends T> items, Function6<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.each(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4], t), poisons);
+    }
+
+    /**
+     * Same as {@link #ofStream(Stream, Function6, Predicate)}, no failure
+     * poisons the resources.
+     */
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function6<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? super T, ? extends B> work) {
+      return ofStream(items, work, cause -> false);
+    }
+
+    /**
+     * Lazy variant of {@link #ofEach(Iterable, Function6, Predicate)}. The
+     * resources are opened with the first item and closed with the returned
+     * stream, so it must be closed, e.g. in a try-with-resources block. An
+     * exception thrown while closing the resources is rethrown by
+     * {@link Stream#close()}. The resources are used by one item at a time, so
+     * the stream must not be made parallel, applying the work on a second
+     * thread throws an {@link IllegalStateException}.
+     * 
+     * @return a sequential stream of the results of every item
+     */
+    @SuppressWarnings("unchecked")
+    public <T, B> Stream<Try<B>> ofStream(Stream<? extends T> items, Function6<? super A1, ? super A2, ? super A3, ? super A4, ? super A5, ? super T, ? extends B> work,
+        Predicate<? super Throwable> poisons) {
+      Objects.requireNonNull(items);
+      Objects.requireNonNull(work);
+      Objects.requireNonNull(poisons);
+      return Resources.stream(new Function0<?>[] { resource1, resource2, resource3, resource4, resource5 }, items, (r, t) -> work.apply((A1) r[0], (A2) r[1], (A3) r[2], (A4) r[3], (A5) r[4], t), poisons);
+    }
   }
 }
@@ -0,0 +1,57 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for every Failure caught by {@link Try#of(Function0)},
+ * {@link Try#ofRunnable(CheckedRunnable)} and
+ * {@link Try#of(String, Function0)}. The stack trace of the event is the call
+ * site, it can be turned off with the {@code stackTrace} setting of the event.
+ */
+@Name("io.github.sfrick.jcontrols.TryFailure")
+@Label("Try Failure")
+@Category("jcontrols")
+@Description("A Try caught an exception")
+@StackTrace(true)
+final class TryFailureEvent extends Event {
+
+  @Label("Name")
+  @Description("The name of the call, if any")
+  String name;
+
+  @Label("Exception Class")
+  Class<?> exceptionClass;
+
+  @Label("Message")
+  String message;
+
+  @Label("Origin")
+  @Description("The top frame of the exception, empty for stackless exceptions")
+  String origin;
+}
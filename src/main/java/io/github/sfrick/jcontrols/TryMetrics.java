@@ -0,0 +1,62 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Objects;
+
+/**
+ * Records the outcome and latency of named calls, see
+ * {@link Try#of(String, Function0)}. Implementations are called on the thread
+ * of the call and must be thread safe and fast, {@link InMemoryTryMetrics} is
+ * the default implementation.
+ */
+public interface TryMetrics {
+
+  /**
+   * @param name         the name of the call
+   * @param latencyNanos the time the work took
+   */
+  void onSuccess(String name, long latencyNanos);
+
+  /**
+   * @param name         the name of the call
+   * @param latencyNanos the time the work took
+   * @param cause        the cause of the Failure
+   */
+  void onFailure(String name, long latencyNanos, Throwable cause);
+
+  /**
+   * Installs the recorder for all named calls, replacing the installed one.
+   * 
+   * @param metrics
+   */
+  static void install(TryMetrics metrics) {
+    Instrumentation.metrics = Objects.requireNonNull(metrics);
+  }
+
+  /**
+   * Removes the installed recorder, named calls are no longer recorded.
+   */
+  static void uninstall() {
+    Instrumentation.metrics = null;
+  }
+}
@@ -0,0 +1,216 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A reusable chain of {@code map}, {@code flatMap} and {@code filter} stages
+ * that is built once and then applied to many inputs. Applying a pipeline runs
+ * all stages in a single pass inside one try/catch block and allocates only the
+ * resulting Try, instead of one lambda and one intermediate Success per stage.
+ * 
+ * <pre>{@code
+ * TryPipeline<String, Integer> parse = Try.<String>pipeline()
+ *     .map(String::trim)
+ *     .map(Integer::parseInt)
+ *     .filter(i -> i > 0, "must be positive");
+ *
+ * Try<Integer> result = parse.apply(" 42 ");
+ * }</pre>
+ *
+ * @param <I> the input type of the pipeline
+ * @param <O> the success type of the pipeline's result
+ */
+public final class TryPipeline<I, O> {
+
+  private static final byte MAP = 0;
+  private static final byte FLAT_MAP = 1;
+  private static final byte FILTER = 2;
+  private static final byte FILTER_LITE = 3;
+
+  private static final TryPipeline<?, ?> IDENTITY = new TryPipeline<>(new byte[0], new Object[0], new Object[0]);
+
+  private final byte[] kinds;
+  private final Object[] stages;
+  private final Object[] failures;
+
+  private TryPipeline(byte[] kinds, Object[] stages, Object[] failures) {
+    this.kinds = kinds;
+    this.stages = stages;
+    this.failures = failures;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A> TryPipeline<A, A> identity() {
+    return (TryPipeline<A, A>) IDENTITY;
+  }
+
+  /**
+   * Appends a mapping stage, see {@link Try#map(Function)}.
+   * 
+   * @param <B> the success type of the mapping function
+   * @param f   the mapping function
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if the mapping function is null
+   */
+  public <B> TryPipeline<I, B> map(Function<? super O, ? extends B> f) {
+    Objects.requireNonNull(f, "Mapper function is null.");
+    return append(MAP, f, null);
+  }
+
+  /**
+   * Appends a flat mapping stage, see {@link Try#flatMap(Function)}.
+   * 
+   * @param <B> the success type of the mapping function
+   * @param f   the mapping function
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if the mapping function is null
+   */
+  public <B> TryPipeline<I, B> flatMap(Function<? super O, ? extends Try<B>> f) {
+    Objects.requireNonNull(f, "Mapper function is null.");
+    return append(FLAT_MAP, f, null);
+  }
+
+  /**
+   * Appends a filter stage, see {@link Try#filter(Predicate, Supplier)}.
+   * 
+   * @param predicate
+   * @param throwable
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if one of the params are null
+   */
+  public TryPipeline<I, O> filter(Predicate<? super O> predicate, Supplier<? extends Throwable> throwable) {
+    Objects.requireNonNull(predicate);
+    Objects.requireNonNull(throwable);
+    return append(FILTER, predicate, throwable);
+  }
+
+  /**
+   * Appends a filter stage, see {@link Try#filter(Predicate, String)}.
+   * 
+   * @param predicate
+   * @param message   the message of the {@link StacklessException}
+   * @return a new pipeline, this pipeline is left unchanged
+   * @throws NullPointerException - if one of the params are null
+   */
+  public TryPipeline<I, O> filter(Predicate<? super O> predicate, String message) {
+    Objects.requireNonNull(predicate);
+    return append(FILTER_LITE, predicate, StacklessException.of(message));
+  }
+
+  /**
+   * Runs all stages of this pipeline on the given input.
+   * 
+   * @param input
+   * @return Success with the result of the last stage, otherwise the Failure of
+   *         the first failing stage.
+   */
+  @SuppressWarnings("unchecked")
+  public Try<O> apply(I input) {
+    return (Try<O>) run(input, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Try<?> run(Object input, Deadline deadline) {
+    Object value = input;
+    try {
+      for (int i = 0; i < kinds.length; i++) {
+        if (deadline != null && deadline.isExpired()) {
+          return new Try.Failure<>(DeadlineExceededException.INSTANCE);
+        }
+        switch (kinds[i]) {
+          case MAP:
+            value = ((Function<Object, Object>) stages[i]).apply(value);
+            break;
+          case FLAT_MAP:
+            Try<Object> next = ((Function<Object, Try<Object>>) stages[i]).apply(value);
+            if (next instanceof Try.Success<Object> success) {
+              value = success.value();
+            } else {
+              return Objects.requireNonNull(next);
+            }
+            break;
+          case FILTER:
+            if (!((Predicate<Object>) stages[i]).test(value)) {
+              return new Try.Failure<>(((Supplier<? extends Throwable>) failures[i]).get());
+            }
+            break;
+          default:
+            if (!((Predicate<Object>) stages[i]).test(value)) {
+              return new Try.Failure<>((Throwable) failures[i]);
+            }
+        }
+      }
+      return Canonical.trySuccess(value);
+    } catch (Throwable cause) {
+      return new Try.Failure<>(cause);
+    }
+  }
+
+  /**
+   * Runs the stages of this pipeline on the given input, as long as the
+   * deadline has not expired. Once it has, the remaining stages are skipped.
+   * 
+   * @param input
+   * @param deadline
+   * @return the result of {@link #apply(Object)}, otherwise a Failure with a
+   *         {@link DeadlineExceededException}.
+   */
+  @SuppressWarnings("unchecked")
+  public Try<O> apply(I input, Deadline deadline) {
+    Objects.requireNonNull(deadline);
+    return (Try<O>) run(input, deadline);
+  }
+
+  /**
+   * Runs all stages of this pipeline on the success value of the given Try.
+   * 
+   * @param input
+   * @return the result of {@link #apply(Object)}, if the input is a Success,
+   *         otherwise the origin casted Failure.
+   */
+  @SuppressWarnings("unchecked")
+  public Try<O> apply(Try<I> input) {
+    Objects.requireNonNull(input);
+    if (input instanceof Try.Success<I> success) {
+      return apply(success.value());
+    }
+    return (Try<O>) input;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <B> TryPipeline<I, B> append(byte kind, Object stage, Object failure) {
+    int n = kinds.length;
+    byte[] k = Arrays.copyOf(kinds, n + 1);
+    Object[] s = Arrays.copyOf(stages, n + 1);
+    Object[] f = Arrays.copyOf(failures, n + 1);
+    k[n] = kind;
+    s[n] = stage;
+    f[n] = failure;
+    return (TryPipeline<I, B>) new TryPipeline<>(k, s, f);
+  }
+}
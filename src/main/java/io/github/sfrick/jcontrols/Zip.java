@@ -0,0 +1,138 @@
+// MIT License
+//
+// Copyright (c) 2023 Sebastian Frick
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.sfrick.jcontrols;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the inputs of {@link Try#zip} and {@link Either#zip} concurrently on a
+ * {@link TaskScope}, the combiners cast the values back to their types.
+ */
+final class Zip {
+
+  private Zip() {
+  }
+
+  static Try<List<Object>> tries(Function0<?>[] inputs) {
+    return TaskScope.all(inputs);
+  }
+
+  static <E> Either<E, List<Object>> eithers(Supplier<?>[] inputs) {
+    Try<List<Object>> values = TaskScope.all(asTasks(inputs));
+    if (values instanceof Try.Success<List<Object>> success) {
+      return new Either.Success<>(success.value());
+    }
+    Throwable cause = ((Try.Failure<List<Object>>) values).cause();
+    if (cause instanceof FailedEither failed) {
+      return failed.<E>failure();
+    }
+    throw unchecked(cause);
+  }
+
+  static <E> Either<List<E>, List<Object>> accumulate(Supplier<?>[] inputs) {
+    List<Try<Object>> results;
+    try {
+      results = TaskScope.settle(asTasks(inputs));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw unchecked(e);
+    }
+    List<Object> values = new ArrayList<>(inputs.length);
+    List<E> failures = new ArrayList<>();
+    for (Try<Object> result : results) {
+      if (result instanceof Try.Success<Object> success) {
+        values.add(success.value());
+      } else {
+        Throwable cause = ((Try.Failure<Object>) result).cause();
+        if (!(cause instanceof FailedEither failed)) {
+          throw unchecked(cause);
+        }
+        failures.add(failed.<E>failure().value());
+      }
+    }
+    return failures.isEmpty()
+        ? new Either.Success<>(Collections.unmodifiableList(values))
+        : new Either.Failure<>(Collections.unmodifiableList(failures));
+  }
+
+  /**
+   * Applies the combiner of {@link Either#zip}, which has no channel for
+   * exceptions, so they are rethrown.
+   */
+  static <R> R combine(Function0<R> combiner) {
+    try {
+      return combiner.apply();
+    } catch (Throwable cause) {
+      throw unchecked(cause);
+    }
+  }
+
+  private static Function0<?>[] asTasks(Supplier<?>[] inputs) {
+    Function0<?>[] tasks = new Function0<?>[inputs.length];
+    for (int i = 0; i < inputs.length; i++) {
+      Supplier<?> input = inputs[i];
+      tasks[i] = () -> {
+        Either<?, ?> result = (Either<?, ?>) input.get();
+        if (result instanceof Either.Failure<?, ?> failure) {
+          throw new FailedEither(failure);
+        }
+        return ((Either.Success<?, ?>) result).value();
+      };
+    }
+    return tasks;
+  }
+
+  private static RuntimeException unchecked(Throwable cause) {
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new CompletionException(cause);
+  }
+
+  /**
+   * Carries a failed input through the {@link TaskScope}, so it cancels the
+   * other inputs.
+   */
+  static final class FailedEither extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Either.Failure<?, ?> failure;
+
+    FailedEither(Either.Failure<?, ?> failure) {
+      super(null, null, false, false);
+      this.failure = failure;
+    }
+
+    @SuppressWarnings("unchecked")
+    <E> Either.Failure<E, List<Object>> failure() {
+      return (Either.Failure<E, List<Object>>) failure;
+    }
+  }
+}
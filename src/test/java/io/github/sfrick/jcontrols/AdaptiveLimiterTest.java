@@ -0,0 +1,133 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.AdaptiveLimiter.Gradient;
+import io.github.sfrick.jcontrols.AdaptiveLimiter.Vegas;
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class AdaptiveLimiterTest {
+
+  @Test
+  void shouldRunWorkWithinLimit() {
+    var limiter = AdaptiveLimiter.of("test", AdaptiveLimiter.Algorithm.vegas());
+
+    Try<String> actual = limiter.of(() -> "success");
+
+    assertThat(actual.orElse("FAILURE")).isEqualTo("success");
+    assertThat(limiter.inflight()).isZero();
+  }
+
+  @Test
+  void shouldRejectBeyondLimit() throws InterruptedException {
+    var limiter = AdaptiveLimiter.of("test", new Vegas(1, 1, 1));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    AsyncTry<String> running = Try.async(() -> limiter.of(() -> {
+      started.countDown();
+      release.await();
+      return "first";
+    }).orElse("FAILURE"));
+    started.await();
+
+    Try<String> actual = limiter.of(() -> "second");
+    release.countDown();
+    running.toTry();
+
+    assertThat(((Failure<String>) actual).cause()).isInstanceOf(CallNotPermittedException.class);
+    assertThat(limiter.rejectedCalls()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShrinkLimitOnDrops() {
+    var limiter = AdaptiveLimiter.of("test", new Vegas(100, 1, 1000), t -> t instanceof TimeoutException);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.of(() -> {
+        throw new TimeoutException();
+      });
+    }
+
+    assertThat(limiter.limit()).isLessThan(100);
+  }
+
+  @Test
+  void shouldIgnoreFailuresNotSignalingOverload() {
+    var limiter = AdaptiveLimiter.of("test", new Vegas(100, 1, 1000), t -> t instanceof TimeoutException);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.of(() -> {
+        throw new IOException();
+      });
+    }
+
+    assertThat(limiter.limit()).isEqualTo(100);
+  }
+
+  @Test
+  void vegasShouldGrowWithoutQueueAndShrinkWithQueue() {
+    var vegas = new Vegas(10, 1, 1000);
+
+    int grown = vegas.update(10, 1_000, 10, false);
+    int shrunk = vegas.update(grown, 10_000, grown, false);
+
+    assertThat(grown).isGreaterThan(10);
+    assertThat(shrunk).isLessThan(grown);
+  }
+
+  @Test
+  void vegasShouldKeepLimitWhenApplicationLimited() {
+    var vegas = new Vegas(10, 1, 1000);
+
+    assertThat(vegas.update(10, 1_000, 2, false)).isEqualTo(10);
+  }
+
+  @Test
+  void gradientShouldShrinkWhenLatencyRises() {
+    var gradient = new Gradient(100, 1, 1000, 1.0);
+    for (int i = 0; i < 50; i++) {
+      gradient.update(100, 1_000, 100, false);
+    }
+
+    assertThat(gradient.update(100, 10_000, 100, false)).isLessThan(100);
+    assertThat(gradient.update(100, 1, 100, true)).isLessThan(100);
+  }
+
+  @Test
+  void gradientShouldGrowUnderHealthyLatency() {
+    var gradient = AdaptiveLimiter.Algorithm.gradient();
+    int limit = gradient.initialLimit();
+
+    for (int i = 0; i < 1000; i++) {
+      limit = gradient.update(limit, 1_000, limit, false);
+    }
+
+    assertThat(limit).isGreaterThan(gradient.initialLimit());
+  }
+
+  @Test
+  void gradientShouldRecoverAfterDrops() {
+    var gradient = AdaptiveLimiter.Algorithm.gradient();
+    int limit = gradient.initialLimit();
+    for (int i = 0; i < 10; i++) {
+      limit = gradient.update(limit, 1_000, limit, false);
+    }
+    int beforeDrops = limit;
+
+    limit = gradient.update(limit, 1_000, limit, true);
+    limit = gradient.update(limit, 1_000, limit, true);
+    int afterDrops = limit;
+    for (int i = 0; i < 50; i++) {
+      limit = gradient.update(limit, 1_000, limit, false);
+    }
+
+    assertThat(afterDrops).isLessThan(beforeDrops);
+    assertThat(limit).isGreaterThan(beforeDrops);
+  }
+}
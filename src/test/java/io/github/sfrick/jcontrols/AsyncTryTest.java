@@ -0,0 +1,108 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class AsyncTryTest {
+
+  @Test
+  void shouldCompleteWithSuccess() {
+    Try<String> actual = Try.async(() -> "success").toTry();
+
+    assertThat(actual.orElse("FAILURE")).isEqualTo("success");
+  }
+
+  @Test
+  void shouldCompleteWithFailure() {
+    var ex = new IOException("failure");
+
+    Try<String> actual = Try.<String>async(() -> {
+      throw ex;
+    }).toTry();
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<String>) actual).cause()).isSameAs(ex);
+  }
+
+  @Test
+  void shouldRunOnSuppliedExecutor() {
+    var executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "supplied"));
+    try {
+      Try<String> actual = Try.async(() -> Thread.currentThread().getName(), executor).toTry();
+
+      assertThat(actual.orElse("FAILURE")).isEqualTo("supplied");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldMapAndFlatMapWithoutBlocking() throws InterruptedException {
+    var release = new CountDownLatch(1);
+    AsyncTry<Integer> origin = Try.async(() -> {
+      release.await();
+      return 41;
+    });
+
+    AsyncTry<String> actual = origin
+        .map(i -> i + 1)
+        .flatMap(i -> Try.async(() -> "#" + i));
+
+    assertThat(actual.isDone()).isFalse();
+    release.countDown();
+    assertThat(actual.toTry().orElse("FAILURE")).isEqualTo("#42");
+  }
+
+  @Test
+  void shouldRecoverFromFailureWithUnwrappedCause() {
+    var ex = new IllegalStateException("failure");
+
+    AsyncTry<String> actual = Try.<String>async(() -> {
+      throw ex;
+    }).map(String::toUpperCase).recover(t -> t == ex ? "recovered" : "wrong cause");
+
+    assertThat(actual.toTry().orElse("FAILURE")).isEqualTo("recovered");
+  }
+
+  @Test
+  void shouldRecoverWithOtherAsyncTry() {
+    AsyncTry<String> actual = Try.<String>async(() -> {
+      throw new IllegalStateException("failure");
+    }).recoverWith(t -> Try.async(() -> "recovered"));
+
+    assertThat(actual.toEither().getOrDefault("FAILURE")).isEqualTo("recovered");
+  }
+
+  @Test
+  void shouldConvertFromAndToCompletionStage() {
+    var source = new CompletableFuture<String>();
+    AsyncTry<String> actual = AsyncTry.fromCompletionStage(source).map(String::toUpperCase);
+
+    source.complete("success");
+
+    assertThat(actual.toCompletionStage().toCompletableFuture().join()).isEqualTo("SUCCESS");
+  }
+
+  @Test
+  void shouldNotifyOnComplete() throws InterruptedException {
+    var done = new CountDownLatch(1);
+    var result = new AtomicReference<Try<String>>();
+
+    AsyncTry.fromTry(Try.success("success")).onComplete(t -> {
+      result.set(t);
+      done.countDown();
+    });
+
+    done.await();
+    assertThat(result.get()).isEqualTo(Try.success("success"));
+  }
+}
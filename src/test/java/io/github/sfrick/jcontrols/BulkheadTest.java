@@ -0,0 +1,112 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Bulkhead.Config;
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class BulkheadTest {
+
+  @Test
+  void shouldRunWorkWithinLimit() {
+    var bulkhead = Bulkhead.of("test", Config.defaults());
+
+    Try<String> actual = bulkhead.of(() -> "success");
+
+    assertThat(actual.orElse("FAILURE")).isEqualTo("success");
+    assertThat(bulkhead.activeCalls()).isZero();
+  }
+
+  @Test
+  void shouldRejectWhenFull() throws InterruptedException {
+    var bulkhead = Bulkhead.of("test", Config.defaults().withMaxConcurrentCalls(1));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    AsyncTry<Void> running = Try.async(() -> bulkhead.ofRunnable(() -> {
+      started.countDown();
+      release.await();
+    }).orElse((Void) null));
+    started.await();
+
+    Try<String> actual = bulkhead.of(() -> "success");
+    release.countDown();
+    running.toTry();
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<String>) actual).cause()).isInstanceOf(CallNotPermittedException.class);
+    assertThat(bulkhead.rejectedCalls()).isEqualTo(1);
+    assertThat(bulkhead.activeCalls()).isZero();
+  }
+
+  @Test
+  void shouldWaitForPermit() throws InterruptedException {
+    var bulkhead = Bulkhead.of("test", new Config(1, 1, Duration.ofSeconds(5)));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    AsyncTry<String> running = Try.async(() -> bulkhead.of(() -> {
+      started.countDown();
+      release.await();
+      return "first";
+    }).orElse("FAILURE"));
+    started.await();
+
+    AsyncTry<String> waiting = Try.async(() -> bulkhead.of(() -> "second").orElse("FAILURE"));
+    while (bulkhead.waitingCalls() == 0) {
+      Thread.onSpinWait();
+    }
+    Try<String> rejected = bulkhead.of(() -> "third");
+    release.countDown();
+
+    assertThat(running.toTry().orElse("FAILURE")).isEqualTo("first");
+    assertThat(waiting.toTry().orElse("FAILURE")).isEqualTo("second");
+    assertThat(rejected.isFailure()).isTrue();
+    assertThat(bulkhead.waitingCalls()).isZero();
+  }
+
+  @Test
+  void shouldNotBargeAheadOfWaitingCalls() throws InterruptedException {
+    var bulkhead = Bulkhead.of("test", new Config(1, 2, Duration.ofSeconds(5)));
+    var order = new CopyOnWriteArrayList<String>();
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    AsyncTry<String> running = Try.async(() -> {
+      bulkhead.ofRunnable(() -> {
+        started.countDown();
+        release.await();
+        order.add("first");
+      });
+      return bulkhead.of(() -> order.add("barging") ? "barging" : "FAILURE").orElse("FAILURE");
+    });
+    started.await();
+    AsyncTry<String> waiting = Try.async(() -> bulkhead.of(() -> order.add("second") ? "second" : "FAILURE")
+        .orElse("FAILURE"));
+    while (bulkhead.waitingCalls() == 0) {
+      Thread.onSpinWait();
+    }
+    Thread.sleep(50);
+
+    release.countDown();
+
+    assertThat(running.toTry().orElse("FAILURE")).isEqualTo("barging");
+    assertThat(waiting.toTry().orElse("FAILURE")).isEqualTo("second");
+    assertThat(order).containsExactly("first", "second", "barging");
+  }
+
+  @Test
+  @SuppressWarnings({ "resource" })
+  void shouldGateWithResource() {
+    var bulkhead = Bulkhead.of("test", Config.defaults());
+
+    Try<Void> actual = bulkhead.execute(() -> Try.withResource(() -> (AutoCloseable) () -> {
+    }).ofConsumer(r -> {
+    }));
+
+    assertThat(actual.isSuccess()).isTrue();
+  }
+}
@@ -0,0 +1,200 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.CircuitBreaker.Config;
+import io.github.sfrick.jcontrols.CircuitBreaker.State;
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class CircuitBreakerTest {
+
+  Config config = Config.defaults()
+      .withWindow(10, 4)
+      .withFailureRateThreshold(50.0)
+      .withOpenDuration(Duration.ofMillis(50))
+      .withPermittedHalfOpenCalls(2);
+
+  String fail() throws IOException {
+    throw new IOException("failure");
+  }
+
+  @Test
+  void shouldStayClosedBelowMinimumCalls() {
+    var breaker = CircuitBreaker.of("test", config);
+
+    for (int i = 0; i < 3; i++) {
+      breaker.of(this::fail);
+    }
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    assertThat(breaker.failureRate()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldOpenAtFailureRateThreshold() {
+    var breaker = CircuitBreaker.of("test", config);
+
+    breaker.of(() -> "success");
+    breaker.of(() -> "success");
+    breaker.of(this::fail);
+    breaker.of(this::fail);
+
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  void shouldFailFastWithoutCallingWhileOpen() {
+    var breaker = CircuitBreaker.of("test", config);
+    for (int i = 0; i < 4; i++) {
+      breaker.of(this::fail);
+    }
+    var calls = new AtomicInteger();
+
+    Try<Integer> actual = breaker.of(calls::incrementAndGet);
+
+    assertThat(calls).hasValue(0);
+    assertThat(actual).isInstanceOf(Failure.class);
+    Throwable cause = ((Failure<Integer>) actual).cause();
+    assertThat(cause).isInstanceOf(CallNotPermittedException.class).hasMessageContaining("test");
+    assertThat(cause.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void shouldOpenAtSlowCallRateThreshold() {
+    var breaker = CircuitBreaker.of("test", config.withSlowCalls(Duration.ZERO, 100.0));
+
+    for (int i = 0; i < 4; i++) {
+      breaker.of(() -> "success");
+    }
+
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  void shouldCloseAfterSuccessfulHalfOpenCalls() throws InterruptedException {
+    var breaker = CircuitBreaker.of("test", config);
+    for (int i = 0; i < 4; i++) {
+      breaker.of(this::fail);
+    }
+
+    Thread.sleep(60);
+    assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    breaker.of(() -> "success");
+    breaker.of(() -> "success");
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    assertThat(breaker.of(() -> "success").orElse("FAILURE")).isEqualTo("success");
+  }
+
+  @Test
+  void shouldReopenAfterFailingHalfOpenCalls() throws InterruptedException {
+    var breaker = CircuitBreaker.of("test", config);
+    for (int i = 0; i < 4; i++) {
+      breaker.of(this::fail);
+    }
+
+    Thread.sleep(60);
+    breaker.of(this::fail);
+    breaker.of(this::fail);
+
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  void shouldLimitHalfOpenCalls() throws InterruptedException {
+    var breaker = CircuitBreaker.of("test", config);
+    for (int i = 0; i < 4; i++) {
+      breaker.of(this::fail);
+    }
+    Thread.sleep(60);
+
+    Try<String> actual = breaker.execute(() -> {
+      breaker.of(() -> "first");
+      return breaker.of(() -> "second");
+    });
+
+    assertThat(actual.isFailure()).isTrue();
+  }
+
+  @Test
+  void shouldSlideWindow() {
+    var breaker = CircuitBreaker.of("test", config.withWindow(4, 4).withFailureRateThreshold(75.0));
+    breaker.of(this::fail);
+    breaker.of(this::fail);
+    for (int i = 0; i < 4; i++) {
+      breaker.of(() -> "success");
+    }
+
+    assertThat(breaker.failureRate()).isEqualTo(0.0);
+    breaker.of(this::fail);
+    breaker.of(this::fail);
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    assertThat(breaker.failureRate()).isEqualTo(50.0);
+  }
+
+  @Test
+  void shouldNotCountCallsAdmittedWhileClosedAsHalfOpenTrials() throws Exception {
+    var breaker = CircuitBreaker.of("test", config);
+    var admitted = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    Thread straggler = new Thread(() -> breaker.of(() -> {
+      admitted.countDown();
+      release.await();
+      return "late";
+    }));
+    straggler.start();
+    admitted.await();
+    for (int i = 0; i < 4; i++) {
+      breaker.of(this::fail);
+    }
+    Thread.sleep(60);
+    breaker.of(() -> "trial");
+
+    release.countDown();
+    straggler.join();
+
+    assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    breaker.of(() -> "trial");
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void shouldAdmitOnlyPermittedTrialsUnderConcurrentFailures() throws Exception {
+    var openDuration = Duration.ofMillis(20);
+    var breaker = CircuitBreaker.of("test", config.withOpenDuration(openDuration));
+    var calls = new AtomicInteger();
+    int threads = 8;
+    long start = System.nanoTime();
+    long end = start + Duration.ofMillis(200).toNanos();
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread worker = new Thread(() -> {
+        while (System.nanoTime() < end) {
+          breaker.of(() -> {
+            calls.incrementAndGet();
+            return fail();
+          });
+        }
+      });
+      worker.start();
+      workers.add(worker);
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    long cycles = (System.nanoTime() - start) / openDuration.toNanos() + 1;
+    assertThat(breaker.state()).isNotEqualTo(State.CLOSED);
+    assertThat(calls.get()).isLessThanOrEqualTo(config.minimumCalls() + threads + 2 * (int) cycles);
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class DeadlineTest {
+
+  @Test
+  void shouldReturnResultWithinTimeout() {
+    assertThat(Try.of(() -> 42, Duration.ofSeconds(5))).isEqualTo(Try.success(42));
+    assertThat(Try.of(() -> Integer.parseInt("x"), Duration.ofSeconds(5)).isFailure()).isTrue();
+  }
+
+  @Test
+  void shouldInterruptWorkOnTimeout() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Try<Object> result = Try.of(() -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+      return "too late";
+    }, Duration.ofMillis(20));
+
+    assertThat(result).isInstanceOfSatisfying(Try.Failure.class,
+        f -> assertThat(f.cause()).isInstanceOf(TimeoutException.class));
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void shouldSkipStagesAfterDeadline() {
+    AtomicInteger calls = new AtomicInteger();
+    Deadline deadline = Deadline.after(Duration.ZERO);
+
+    Try<Integer> result = Try.success(1)
+        .map(deadline.map(i -> calls.incrementAndGet()))
+        .flatMap(deadline.flatMap(i -> Try.success(calls.incrementAndGet())));
+
+    assertThat(deadline.isExpired()).isTrue();
+    assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+    assertThat(deadline.of(calls::incrementAndGet)).isInstanceOfSatisfying(Try.Failure.class,
+        f -> assertThat(f.cause()).isInstanceOf(DeadlineExceededException.class));
+    assertThat(result.isFailure()).isTrue();
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void shouldRunStagesBeforeDeadline() {
+    Deadline deadline = Deadline.after(Duration.ofSeconds(30));
+
+    Try<Integer> result = deadline.of(() -> 1)
+        .map(deadline.map(i -> i + 1))
+        .flatMap(deadline.flatMap(i -> deadline.of(() -> i * 10)));
+
+    assertThat(deadline.isExpired()).isFalse();
+    assertThat(result).isEqualTo(Try.success(20));
+  }
+
+  @Test
+  void shouldNotExpireHugeBudgets() {
+    Deadline years = Deadline.after(Duration.ofDays(365_000));
+    Deadline forever = Deadline.after(ChronoUnit.FOREVER.getDuration());
+
+    assertThat(years.isExpired()).isFalse();
+    assertThat(forever.isExpired()).isFalse();
+    assertThat(forever.of(() -> 1)).isEqualTo(Try.success(1));
+    assertThat(Deadline.after(Duration.ofSeconds(-1)).isExpired()).isTrue();
+  }
+
+  @Test
+  void shouldSkipPipelineStagesAfterDeadline() {
+    TryPipeline<Integer, Integer> pipeline = Try.<Integer>pipeline().map(i -> i + 1);
+
+    assertThat(pipeline.apply(1, Deadline.after(Duration.ofSeconds(30)))).isEqualTo(Try.success(2));
+    assertThat(pipeline.apply(1, Deadline.after(Duration.ZERO))).isInstanceOfSatisfying(Try.Failure.class,
+        f -> assertThat(f.cause()).isInstanceOf(DeadlineExceededException.class));
+  }
+}
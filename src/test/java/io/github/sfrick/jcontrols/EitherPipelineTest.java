@@ -0,0 +1,44 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Either.Failure;
+
+public class EitherPipelineTest {
+
+  EitherPipeline<String, String, Integer> length = Either.<String, String>pipeline()
+      .map(String::trim)
+      .filter(s -> !s.isEmpty(), "empty")
+      .flatMap(s -> s.length() > 3 ? Either.failure("too long") : Either.success(s))
+      .map(String::length);
+
+  @Test
+  void shouldApplyAllStages() {
+    Either<String, Integer> actual = length.apply(" abc ");
+
+    assertThat(actual.getOrDefault(-1)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldFailOnFilter() {
+    Either<String, Integer> actual = length.apply("  ");
+
+    assertThat(((Failure<String, Integer>) actual).value()).isEqualTo("empty");
+  }
+
+  @Test
+  void shouldStopAtFailingFlatMap() {
+    Either<String, Integer> actual = length.apply("abcd");
+
+    assertThat(((Failure<String, Integer>) actual).value()).isEqualTo("too long");
+  }
+
+  @Test
+  void shouldNotApplyStagesToFailure() {
+    Either<String, Integer> actual = length.apply(Either.failure("failure"));
+
+    assertThat(((Failure<String, Integer>) actual).value()).isEqualTo("failure");
+  }
+}
@@ -84,4 +84,11 @@ public class EitherTest {
 
     assertThat(origin.or(anotherEither).getOrDefault("default")).isEqualTo("success");
   }
+
+  @Test
+  void shouldShareBooleanAndSmallIntSuccesses() {
+    assertThat(Either.success(true)).isSameAs(Either.success(true));
+    assertThat(Either.success(null)).isSameAs(Either.success(null));
+    assertThat(Either.<String, Integer>success(1).map(i -> i + 1)).isSameAs(Either.success(2));
+  }
 }
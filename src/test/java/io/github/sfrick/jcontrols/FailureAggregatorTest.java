@@ -0,0 +1,179 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.FailureAggregator.Config;
+import io.github.sfrick.jcontrols.FailureAggregator.Report;
+
+public class FailureAggregatorTest {
+
+  List<Report> reports = new CopyOnWriteArrayList<>();
+  FailureAggregator aggregator = FailureAggregator.of(Config.defaults().withReportInterval(Duration.ofHours(1)),
+      reports::add);
+
+  Try<Integer> parse(String input) {
+    return Try.of(() -> Integer.parseInt(input));
+  }
+
+  Try<Integer> load(int id) {
+    return Try.of(() -> {
+      throw new IOException("Connection refused: " + id);
+    });
+  }
+
+  @Test
+  void shouldCountFailuresByFingerprint() {
+    for (int i = 0; i <= 100; i++) {
+      aggregator.observe(parse(i < 100 ? "x" + i : "1"));
+      aggregator.observe(load(i));
+    }
+
+    assertThat(reports).isEmpty();
+    aggregator.flush();
+
+    assertThat(reports).hasSize(1);
+    Report report = reports.get(0);
+    assertThat(report.untracked()).isZero();
+    assertThat(report.failures()).hasSize(2);
+    assertThat(report.failures().get(0).count()).isEqualTo(101);
+    assertThat(report.failures().get(0).fingerprint().type()).isEqualTo(IOException.class);
+    assertThat(report.failures().get(0).message()).isEqualTo("Connection refused: 0");
+    assertThat(report.failures().get(1).count()).isEqualTo(100);
+    assertThat(report.failures().get(1).fingerprint().frames()).hasSize(5);
+  }
+
+  @Test
+  void shouldBoundTheTable() {
+    FailureAggregator small = FailureAggregator.of(Config.defaults().withMaxFingerprints(1), reports::add);
+
+    for (Throwable cause : List.of(new IOException(), new IllegalStateException(), new IllegalStateException())) {
+      small.record(cause);
+    }
+    small.flush();
+
+    assertThat(reports.get(0).failures()).hasSize(1);
+    assertThat(reports.get(0).untracked()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReportOncePerInterval() throws InterruptedException {
+    FailureAggregator fast = FailureAggregator.of(Config.defaults().withReportInterval(Duration.ofMillis(20)),
+        reports::add);
+
+    for (int i = 0; i < 3; i++) {
+      fast.record(new IOException());
+      if (i == 0) {
+        Thread.sleep(30);
+      }
+    }
+
+    awaitReports(1);
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).failures().get(0).count()).isEqualTo(2);
+  }
+
+  void awaitReports(int count) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (reports.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  void shouldReportOffTheFailingThread() throws InterruptedException {
+    var release = new CountDownLatch(1);
+    var reported = new CountDownLatch(1);
+    FailureAggregator slow = FailureAggregator.of(Config.defaults().withReportInterval(Duration.ZERO), report -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      reported.countDown();
+    });
+
+    slow.record(new IOException());
+
+    assertThat(reported.getCount()).isEqualTo(1);
+    release.countDown();
+    reported.await();
+  }
+
+  @Test
+  void shouldIsolateReporterFailures() {
+    FailureAggregator throwing = FailureAggregator.of(Config.defaults(), report -> {
+      throw new IllegalStateException("reporter");
+    });
+    Thread thread = Thread.currentThread();
+    var handler = thread.getUncaughtExceptionHandler();
+    var handled = new ArrayList<Throwable>();
+    thread.setUncaughtExceptionHandler((t, e) -> handled.add(e));
+    try {
+      Try<Integer> result = throwing.observe(parse("x"));
+      throwing.flush();
+
+      assertThat(result.isFailure()).isTrue();
+      assertThat(handled).singleElement().satisfies(e -> assertThat(e).hasMessage("reporter"));
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+  }
+
+  @Test
+  void shouldNotLoseFailuresRecordedDuringReports() throws InterruptedException {
+    int threads = 4;
+    int failures = 20_000;
+    var done = new AtomicBoolean();
+    Thread flusher = new Thread(() -> {
+      while (!done.get()) {
+        aggregator.flush();
+      }
+    });
+    flusher.start();
+    List<Thread> recorders = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread recorder = new Thread(() -> {
+        for (int i = 0; i < failures; i++) {
+          aggregator.observe(Try.failureLite("busy"));
+        }
+      });
+      recorder.start();
+      recorders.add(recorder);
+    }
+    for (Thread recorder : recorders) {
+      recorder.join();
+    }
+    done.set(true);
+    flusher.join();
+    aggregator.flush();
+
+    long counted = reports.stream().flatMap(r -> r.failures().stream()).mapToLong(s -> s.count()).sum();
+    assertThat(counted).isEqualTo((long) threads * failures);
+  }
+
+  @Test
+  void shouldFingerprintStacklessFailuresByClass() {
+    aggregator.observe(Try.failureLite("first"));
+    aggregator.observe(Try.failureLite("second"));
+    aggregator.observe(Try.success(1));
+    aggregator.flush();
+    aggregator.flush();
+
+    assertThat(reports).hasSize(1);
+    assertThat(reports.get(0).failures()).singleElement().satisfies(summary -> {
+      assertThat(summary.count()).isEqualTo(2);
+      assertThat(summary.fingerprint().frames()).isEmpty();
+      assertThat(summary.fingerprint()).hasToString(StacklessException.class.getName());
+    });
+  }
+}
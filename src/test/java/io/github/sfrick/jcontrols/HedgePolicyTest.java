@@ -0,0 +1,139 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class HedgePolicyTest {
+
+  AtomicInteger attempts = new AtomicInteger();
+  CountDownLatch interrupted = new CountDownLatch(1);
+
+  Function0<String> slowFirstAttempt() {
+    return () -> {
+      if (attempts.incrementAndGet() == 1) {
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+          throw e;
+        }
+        return "primary";
+      }
+      return "hedge";
+    };
+  }
+
+  @Test
+  void shouldHedgeSlowCall() throws InterruptedException {
+    HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(10)).withBudget(100);
+
+    Try<String> result = Try.hedged(slowFirstAttempt(), policy);
+
+    assertThat(result).isEqualTo(Try.success("hedge"));
+    assertThat(policy.hedgedCalls()).isEqualTo(1);
+    assertThat(interrupted.getCount()).isZero();
+  }
+
+  @Test
+  void shouldNotHedgeFastCall() {
+    HedgePolicy policy = HedgePolicy.after(Duration.ofSeconds(10)).withBudget(100);
+
+    assertThat(Try.hedged(() -> attempts.incrementAndGet(), policy)).isEqualTo(Try.success(1));
+    assertThat(attempts).hasValue(1);
+    assertThat(policy.hedgedCalls()).isZero();
+  }
+
+  @Test
+  void shouldNotExceedBudget() {
+    HedgePolicy policy = HedgePolicy.after(Duration.ZERO).withBudget(0);
+
+    Try<String> result = Try.hedged(() -> {
+      attempts.incrementAndGet();
+      Thread.sleep(20);
+      return "primary";
+    }, policy);
+
+    assertThat(result).isEqualTo(Try.success("primary"));
+    assertThat(attempts).hasValue(1);
+    assertThat(policy.hedgedCalls()).isZero();
+  }
+
+  @Test
+  void shouldHedgeDuringWarmUp() throws InterruptedException {
+    HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(10));
+
+    Try<String> result = Try.hedged(slowFirstAttempt(), policy);
+
+    assertThat(result).isEqualTo(Try.success("hedge"));
+    assertThat(policy.hedgedCalls()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldAllowMinimumHedgesBeforeBudgetApplies() {
+    HedgePolicy policy = HedgePolicy.after(Duration.ZERO).withBudget(10, 2);
+
+    policy.onCall();
+    assertThat(policy.tryHedge()).isTrue();
+    assertThat(policy.tryHedge()).isTrue();
+    assertThat(policy.tryHedge()).isFalse();
+    for (int i = 0; i < 29; i++) {
+      policy.onCall();
+    }
+    assertThat(policy.tryHedge()).isTrue();
+    assertThat(policy.tryHedge()).isFalse();
+  }
+
+  @Test
+  void shouldTrackLatencyPercentile() {
+    HedgePolicy policy = HedgePolicy.percentile(50, Duration.ofSeconds(10)).withBudget(0);
+
+    for (int i = 0; i < 16; i++) {
+      Try.hedged(() -> "fast", policy);
+    }
+
+    assertThat(policy.delay()).isLessThan(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldKeepDelayStableUnderConstantLatency() {
+    HedgePolicy policy = HedgePolicy.percentile(50, Duration.ofMillis(50)).withBudget(100);
+    Function0<String> constant = () -> {
+      Thread.sleep(5);
+      return "success";
+    };
+
+    for (int i = 0; i < 64; i++) {
+      Try.hedged(constant, policy);
+      if ((i + 1) % 16 == 0) {
+        assertThat(policy.delay()).isGreaterThanOrEqualTo(Duration.ofMillis(5));
+      }
+    }
+  }
+
+  @Test
+  void shouldTrackPrimaryLatencyWhenHedgesWin() {
+    HedgePolicy policy = HedgePolicy.percentile(50, Duration.ofMillis(2)).withBudget(100);
+
+    for (int i = 0; i < 32; i++) {
+      var callAttempts = new AtomicInteger();
+      Try<String> result = Try.hedged(() -> {
+        if (callAttempts.incrementAndGet() > 1) {
+          return "hedge";
+        }
+        long end = System.nanoTime() + Duration.ofMillis(20).toNanos();
+        while (System.nanoTime() < end) {
+          Thread.onSpinWait();
+        }
+        return "primary";
+      }, policy);
+      assertThat(result.isSuccess()).isTrue();
+    }
+
+    assertThat(policy.delay()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+  }
+}
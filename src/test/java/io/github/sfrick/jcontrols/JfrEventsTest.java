@@ -0,0 +1,142 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrEventsTest {
+
+  class Resource implements AutoCloseable {
+    @Override
+    public void close() throws InterruptedException {
+      Thread.sleep(5);
+    }
+  }
+
+  List<RecordedEvent> record(String event, Runnable calls) throws IOException {
+    Path file = Files.createTempFile("jcontrols", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("io.github.sfrick.jcontrols." + event).withThreshold(Duration.ZERO);
+      recording.start();
+      calls.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(e -> e.getEventType().getName().equals("io.github.sfrick.jcontrols." + event))
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void shouldRecordFailures() throws IOException {
+    List<RecordedEvent> events = record("TryFailure", () -> {
+      Try.of(() -> Integer.parseInt("x"));
+      Try.of("users.load", () -> {
+        throw new IOException("down");
+      });
+      Try.of(() -> 1);
+    });
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getClass("exceptionClass").getName()).isEqualTo(NumberFormatException.class.getName());
+    assertThat(events.get(0).getString("origin")).contains("NumberFormatException");
+    assertThat(events.get(0).getStackTrace()).isNotNull();
+    assertThat(events.get(1).getString("name")).isEqualTo("users.load");
+    assertThat(events.get(1).getString("message")).isEqualTo("down");
+  }
+
+  @Test
+  void shouldRecordNamedExecutions() throws IOException {
+    List<RecordedEvent> events = record("TryExecution", () -> {
+      Try.of("users.load", () -> {
+        Thread.sleep(5);
+        return 1;
+      });
+      Try.of(() -> 2);
+    });
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getString("name")).isEqualTo("users.load");
+    assertThat(events.get(0).getBoolean("success")).isTrue();
+    assertThat(events.get(0).getDuration().toMillis()).isGreaterThanOrEqualTo(5);
+  }
+
+  @Test
+  void shouldRecordResourceLeases() throws IOException {
+    List<RecordedEvent> events = record("ResourceLease", () -> {
+      Try<Integer> result = Try.withResource(Resource::new).withResource(Resource::new).of((r1, r2) -> 1);
+      assertThat(result).isEqualTo(Try.success(1));
+      Try.withResource(Resource::new).ofConsumer(r -> {
+        throw new IOException("work");
+      });
+    });
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getInt("resources")).isEqualTo(2);
+    assertThat(events.get(0).getDuration("close").toMillis()).isGreaterThanOrEqualTo(10);
+    assertThat(events.get(0).getBoolean("success")).isTrue();
+    assertThat(events.get(1).getBoolean("success")).isFalse();
+  }
+
+  @Test
+  void shouldRecordConcurrentResourceLeases() throws IOException {
+    List<RecordedEvent> events = record("ResourceLease", () -> {
+      Try.withResource(Resource::new).withResource(Resource::new).ofConcurrent((r1, r2) -> 1);
+      Try.withResource(Resource::new).withResource(Resource::new).ofConcurrent((r1, r2) -> {
+        throw new IOException("work");
+      });
+    });
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getInt("resources")).isEqualTo(2);
+    assertThat(events.get(0).getBoolean("success")).isTrue();
+    assertThat(events.get(1).getBoolean("success")).isFalse();
+  }
+
+  @Test
+  void shouldRecordBatchFailures() throws IOException {
+    List<RecordedEvent> events = record("TryFailure", () -> {
+      Try.withResource(Resource::new).ofEach(List.of("1", "x"), (r, item) -> Integer.parseInt(item));
+      Try.withResource(Resource::new).withResource(Resource::new).ofConcurrent((r1, r2) -> {
+        throw new IOException("work");
+      });
+    });
+
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getClass("exceptionClass").getName()).isEqualTo(NumberFormatException.class.getName());
+    assertThat(events.get(1).getString("message")).isEqualTo("work");
+  }
+
+  @Test
+  void shouldNotRecordFailedZipInputsAsTryFailures() throws IOException {
+    List<RecordedEvent> events = record("TryFailure", () -> {
+      Either<String, Integer> result = Either.zip(() -> Either.failure("invalid"), () -> Either.success(1),
+          (Object a, Integer b) -> b);
+      assertThat(result).isEqualTo(Either.failure("invalid"));
+    });
+
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  void shouldKeepJfrTypesOutOfInstrumentation() {
+    assertThat(Instrumentation.class.getDeclaredFields())
+        .noneMatch(f -> f.getType().getName().startsWith("jdk.jfr"));
+    assertThat(Instrumentation.class.getDeclaredMethods())
+        .flatExtracting(m -> List.of(m.getParameterTypes()))
+        .noneMatch(type -> type.getName().startsWith("jdk.jfr") || type.getSuperclass() == jdk.jfr.Event.class);
+  }
+}
@@ -0,0 +1,121 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+import io.github.sfrick.jcontrols.Try.Success;
+
+public class LazyTryTest {
+
+  @Test
+  void shouldNotRunWorkBeforeAccess() {
+    var calls = new AtomicInteger();
+
+    LazyTry<String> actual = Try.lazy(() -> "success" + calls.incrementAndGet());
+
+    assertThat(calls).hasValue(0);
+    assertThat(actual.isEvaluated()).isFalse();
+  }
+
+  @Test
+  void shouldRunWorkOnlyOnce() {
+    var calls = new AtomicInteger();
+    LazyTry<Integer> actual = Try.lazy(calls::incrementAndGet);
+
+    assertThat(actual.get().orElse(-1)).isEqualTo(1);
+    assertThat(actual.get().orElse(-1)).isEqualTo(1);
+    assertThat(actual.isEvaluated()).isTrue();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldEvaluateToPlainSuccess() {
+    LazyTry<String> actual = Try.lazy(() -> "success");
+
+    assertThat(actual.get()).isInstanceOf(Success.class).isEqualTo(Try.success("success"));
+  }
+
+  @Test
+  void shouldCaptureThrowingWork() {
+    var ex = new RuntimeException("failure");
+    LazyTry<String> actual = Try.lazy(() -> {
+      throw ex;
+    });
+
+    assertThat(actual.get()).isInstanceOf(Failure.class);
+    assertThat(((Failure<String>) actual.get()).cause()).isSameAs(ex);
+  }
+
+  @Test
+  void shouldDeferMapFlatMapAndFilter() {
+    var calls = new AtomicInteger();
+    LazyTry<Integer> origin = Try.lazy(calls::incrementAndGet);
+
+    LazyTry<String> actual = origin
+        .map(i -> i + 1)
+        .flatMap(i -> Try.success("#" + i))
+        .filter(s -> !s.isEmpty(), "must not be empty");
+
+    assertThat(calls).hasValue(0);
+    assertThat(actual.get().orElse("FAILURE")).isEqualTo("#2");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldNotEvaluateUnusedFallback() {
+    var calls = new AtomicInteger();
+    LazyTry<Integer> fallback = Try.lazy(calls::incrementAndGet);
+
+    Integer actual = Try.success(42).or(fallback).orElse(-1);
+
+    assertThat(actual).isEqualTo(42);
+    assertThat(calls).hasValue(0);
+  }
+
+  @Test
+  void shouldEvaluateFallbackOfFailure() {
+    LazyTry<Integer> fallback = Try.lazy(() -> 7);
+
+    Integer actual = Try.<Integer>failure(new RuntimeException()).or(fallback).orElse(-1);
+
+    assertThat(actual).isEqualTo(7);
+  }
+
+  @Test
+  void shouldRunWorkOnlyOnceUnderConcurrentAccess() throws InterruptedException {
+    var calls = new AtomicInteger();
+    LazyTry<Integer> actual = Try.lazy(() -> {
+      Thread.sleep(10);
+      return calls.incrementAndGet();
+    });
+    var start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        actual.get();
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(calls).hasValue(1);
+    assertThat(actual.get().orElse(-1)).isEqualTo(1);
+  }
+}
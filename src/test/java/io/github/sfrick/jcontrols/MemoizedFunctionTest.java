@@ -0,0 +1,185 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class MemoizedFunctionTest {
+
+  @Test
+  void shouldComputeOncePerArgument() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    CacheSpec spec = CacheSpec.of(10);
+    Function1<Integer, Integer> square = ((Function1<Integer, Integer>) i -> {
+      calls.incrementAndGet();
+      return i * i;
+    }).memoized(spec);
+
+    assertThat(square.apply(3)).isEqualTo(9);
+    assertThat(square.apply(3)).isEqualTo(9);
+    assertThat(square.apply(4)).isEqualTo(16);
+    assertThat(square.apply(4)).isEqualTo(16);
+
+    assertThat(calls).hasValue(2);
+    assertThat(spec.stats().hits()).isEqualTo(2);
+    assertThat(spec.stats().misses()).isEqualTo(2);
+    assertThat(spec.stats().hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void shouldCacheNullArgumentsAndResults() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    Function1<String, String> f = ((Function1<String, String>) s -> {
+      calls.incrementAndGet();
+      return null;
+    }).memoized(CacheSpec.of(10));
+
+    assertThat(f.apply(null)).isNull();
+    assertThat(f.apply(null)).isNull();
+
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldUseAllArgumentsAsKey() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    Function3<String, Integer, Boolean, String> f = ((Function3<String, Integer, Boolean, String>) (s, i, b) -> {
+      calls.incrementAndGet();
+      return s + i + b;
+    }).memoized(CacheSpec.of(10));
+
+    assertThat(f.apply("a", 1, true)).isEqualTo("a1true");
+    assertThat(f.apply("a", 1, true)).isEqualTo("a1true");
+    assertThat(f.apply("a", 1, false)).isEqualTo("a1false");
+    assertThat(f.apply("a", 2, true)).isEqualTo("a2true");
+
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void shouldMemoizeEveryArity() throws Throwable {
+    CacheSpec spec = CacheSpec.of(10);
+    Function2<Integer, Integer, Integer> f2 = ((Function2<Integer, Integer, Integer>) Integer::sum).memoized(spec);
+    Function4<Integer, Integer, Integer, Integer, Integer> f4 = ((Function4<Integer, Integer, Integer, Integer, Integer>) (
+        a, b, c, d) -> a + b + c + d).memoized(spec);
+    Function5<Integer, Integer, Integer, Integer, Integer, Integer> f5 = ((Function5<Integer, Integer, Integer, Integer, Integer, Integer>) (
+        a, b, c, d, e) -> a + b + c + d + e).memoized(spec);
+
+    assertThat(f2.apply(1, 2)).isEqualTo(3);
+    assertThat(f2.apply(1, 2)).isEqualTo(3);
+    assertThat(f4.apply(1, 2, 3, 4)).isEqualTo(10);
+    assertThat(f4.apply(1, 2, 3, 4)).isEqualTo(10);
+    assertThat(f5.apply(1, 2, 3, 4, 5)).isEqualTo(15);
+    assertThat(f5.apply(1, 2, 3, 4, 5)).isEqualTo(15);
+
+    assertThat(spec.stats().hits()).isEqualTo(3);
+    assertThat(spec.stats().misses()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldExpireResultsAfterTtl() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    Function1<String, Integer> f = ((Function1<String, Integer>) s -> calls.incrementAndGet())
+        .memoized(CacheSpec.of(10).withTtl(Duration.ofMillis(20)));
+
+    assertThat(f.apply("a")).isEqualTo(1);
+    assertThat(f.apply("a")).isEqualTo(1);
+    Thread.sleep(40);
+    assertThat(f.apply("a")).isEqualTo(2);
+  }
+
+  @Test
+  void shouldPassFailuresThroughByDefault() {
+    AtomicInteger calls = new AtomicInteger();
+    Function1<String, String> f = ((Function1<String, String>) s -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException(s);
+    }).memoized(CacheSpec.of(10));
+
+    assertThatThrownBy(() -> f.apply("a")).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> f.apply("a")).isInstanceOf(IllegalStateException.class);
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void shouldCacheFailuresWithFailureTtl() {
+    AtomicInteger calls = new AtomicInteger();
+    Function1<String, String> f = ((Function1<String, String>) s -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException(s);
+    }).memoized(CacheSpec.of(10).withFailureCaching(Duration.ofMinutes(1)));
+
+    Throwable first = catchThrowable(() -> f.apply("a"));
+    Throwable second = catchThrowable(() -> f.apply("a"));
+
+    assertThat(first).isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(second).isInstanceOf(ExecutionException.class)
+        .isNotSameAs(first)
+        .hasCause(first.getCause());
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldBoundInsertionOrderWhenEntriesExpire() throws Throwable {
+    MemoCache<Integer, Integer> cache = new MemoCache<>(CacheSpec.of(100).withTtl(Duration.ofNanos(1)));
+
+    for (int i = 0; i < 200_000; i++) {
+      int key = i % 5;
+      cache.get(key, () -> key);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(5);
+    assertThat(cache.queued()).isLessThanOrEqualTo(200);
+  }
+
+  @Test
+  void shouldStayWithinMaximumSize() throws Throwable {
+    CacheSpec spec = CacheSpec.of(100);
+    Function1<Integer, Integer> f = ((Function1<Integer, Integer>) i -> i).memoized(spec);
+
+    for (int i = 0; i < 1_000; i++) {
+      f.apply(i);
+    }
+
+    assertThat(spec.stats().evictions()).isEqualTo(900);
+  }
+
+  @Test
+  void shouldKeepFrequentKeysDuringScan() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    Function1<Integer, Integer> f = ((Function1<Integer, Integer>) i -> {
+      if (i < 10) {
+        calls.incrementAndGet();
+      }
+      return i;
+    }).memoized(CacheSpec.of(20));
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 10; i++) {
+        f.apply(i);
+      }
+    }
+
+    for (int i = 1_000; i < 1_100; i++) {
+      f.apply(i);
+    }
+    for (int i = 0; i < 10; i++) {
+      f.apply(i);
+    }
+
+    assertThat(calls).hasValue(10);
+  }
+
+  @Test
+  void shouldRejectInvalidSpec() {
+    assertThatThrownBy(() -> CacheSpec.of(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> CacheSpec.of(1).withTtl(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveEitherTest {
+
+  @Test
+  void shouldMapAPresentSuccessValue() {
+    IntEither<String> actual = IntEither.<String>success(41).map(i -> i + 1);
+
+    assertThat(actual.getOrDefault(-1)).isEqualTo(42);
+  }
+
+  @Test
+  void shouldNotMapAFailureValue() {
+    IntEither<String> actual = IntEither.<String>failure("failure").map(i -> i + 1);
+
+    assertThat(actual.getOrDefault(-1)).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldMapAFailureValue() {
+    IntEither<Integer> actual = IntEither.<String>failure("failure").mapF(String::length);
+
+    assertThat(actual).isEqualTo(IntEither.failure(7));
+  }
+
+  @Test
+  void shouldFlatMapAPresentSuccessValue() {
+    LongEither<String> actual = LongEither.<String>success(3L)
+        .flatMap(l -> l > 2 ? LongEither.failure("too big") : LongEither.success(l));
+
+    assertThat(actual).isEqualTo(LongEither.failure("too big"));
+  }
+
+  @Test
+  void shouldConvertToAndFromBoxedEither() {
+    Either<String, Double> boxed = DoubleEither.<String>success(1.5).toEither();
+
+    assertThat(boxed.getOrDefault(0.0)).isEqualTo(1.5);
+    assertThat(DoubleEither.fromEither(boxed).getOrDefault(0.0)).isEqualTo(1.5);
+    assertThat(DoubleEither.fromEither(Either.<String, Double>failure("failure")).isFailure()).isTrue();
+  }
+
+  @Test
+  void shouldMapToObject() {
+    Either<String, String> actual = IntEither.<String>success(42).mapToObj(Integer::toString);
+
+    assertThat(actual.getOrDefault("FAILURE")).isEqualTo("42");
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveTryTest {
+
+  int parse(String s) throws Exception {
+    if (s.isEmpty()) {
+      throw new Exception("empty");
+    }
+    return Integer.parseInt(s);
+  }
+
+  @Test
+  void shouldReturnSuccess() {
+    IntTry actual = IntTry.of(() -> parse("42"));
+
+    assertThat(actual).isEqualTo(IntTry.success(42));
+  }
+
+  @Test
+  void shouldCaptureCheckedException() {
+    IntTry actual = IntTry.of(() -> parse(""));
+
+    assertThat(actual).isInstanceOf(IntTry.Failure.class);
+    assertThat(((IntTry.Failure) actual).cause()).hasMessage("empty");
+  }
+
+  @Test
+  void shouldCaptureThrowingMap() {
+    LongTry actual = LongTry.success(1L).map(l -> {
+      throw new IllegalStateException("failure");
+    });
+
+    assertThat(actual.isFailure()).isTrue();
+    assertThat(actual.orElse(-1L)).isEqualTo(-1L);
+  }
+
+  @Test
+  void shouldMapAndFilter() {
+    DoubleTry actual = DoubleTry.success(2.0)
+        .map(d -> d * 2)
+        .filter(d -> d > 10, "too small");
+
+    assertThat(actual.isFailure()).isTrue();
+    assertThat(((DoubleTry.Failure) actual).cause()).isInstanceOf(StacklessException.class);
+  }
+
+  @Test
+  void shouldFlatMap() {
+    IntTry actual = IntTry.success(41).flatMap(i -> IntTry.of(() -> i + 1));
+
+    assertThat(actual.orElse(() -> -1)).isEqualTo(42);
+  }
+
+  @Test
+  void shouldConvertToAndFromBoxedTry() {
+    assertThat(IntTry.success(42).toTry()).isEqualTo(Try.success(42));
+    assertThat(IntTry.fromTry(Try.success(42))).isEqualTo(IntTry.success(42));
+    assertThat(IntTry.fromTry(Try.success(null)).isFailure()).isTrue();
+    assertThat(IntTry.success(42).toEither().getOrDefault(-1)).isEqualTo(42);
+  }
+}
@@ -0,0 +1,173 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.ResourcePool.Lease;
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class ResourcePoolTest {
+
+  AtomicInteger created = new AtomicInteger();
+  AtomicInteger closed = new AtomicInteger();
+
+  class Connection implements AutoCloseable {
+    final int id = created.incrementAndGet();
+    boolean valid = true;
+
+    boolean ping() throws IOException {
+      if (!valid) {
+        throw new IOException("connection reset");
+      }
+      return true;
+    }
+
+    @Override
+    public void close() {
+      closed.incrementAndGet();
+    }
+  }
+
+  ResourcePool<Connection> pool(ResourcePool.Config config) {
+    return ResourcePool.of("test", Connection::new, Connection::close, c -> c.valid, config);
+  }
+
+  @Test
+  void shouldReuseResources() {
+    ResourcePool<Connection> pool = pool(ResourcePool.Config.defaults());
+
+    Try<Integer> first = Try.withPooled(pool).of(lease -> lease.get().id);
+    Try<Integer> second = Try.withPooled(pool).of(lease -> lease.get().id);
+
+    assertThat(first).isEqualTo(Try.success(1));
+    assertThat(second).isEqualTo(Try.success(1));
+    assertThat(closed).hasValue(0);
+    assertThat(pool.idle()).isEqualTo(1);
+    assertThat(pool.leased()).isZero();
+  }
+
+  @Test
+  void shouldDestroyInvalidResources() {
+    ResourcePool<Connection> pool = pool(ResourcePool.Config.defaults());
+
+    Try.withPooled(pool).ofConsumer(lease -> lease.get().valid = false);
+    Try.withPooled(pool).ofConsumer(Lease::invalidate);
+    Try<Integer> id = Try.withPooled(pool).of(lease -> lease.get().id);
+
+    assertThat(id).isEqualTo(Try.success(3));
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void shouldEvictExpiredResources() throws InterruptedException {
+    ResourcePool<Connection> idle = pool(ResourcePool.Config.defaults().withMaxIdle(Duration.ofMillis(5)));
+    ResourcePool<Connection> lifetime = pool(ResourcePool.Config.defaults().withMaxLifetime(Duration.ZERO));
+
+    Try.withPooled(idle).ofConsumer(lease -> {
+    });
+    Thread.sleep(10);
+    Try<Integer> id = Try.withPooled(idle).of(lease -> lease.get().id);
+    Try.withPooled(lifetime).ofConsumer(lease -> {
+    });
+
+    assertThat(id).isEqualTo(Try.success(2));
+    assertThat(lifetime.idle()).isZero();
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void shouldFailOnLeaseTimeout() throws Throwable {
+    ResourcePool<Connection> pool = pool(
+        ResourcePool.Config.defaults().withMaxSize(1).withLeaseTimeout(Duration.ofMillis(5)));
+
+    try (Lease<Connection> held = pool.lease()) {
+      Try<Integer> result = Try.withPooled(pool).of(lease -> lease.get().id);
+
+      assertThat(result).isInstanceOfSatisfying(Failure.class,
+          f -> assertThat(f.cause()).isInstanceOf(CallNotPermittedException.class));
+      assertThat(pool.leased()).isEqualTo(1);
+    }
+    assertThat(pool.leased()).isZero();
+  }
+
+  @Test
+  void shouldComposeWithResourceChain() {
+    ResourcePool<Connection> pool = pool(ResourcePool.Config.defaults());
+
+    Try<String> result = Try.withResource(Connection::new)
+        .withPooled(pool)
+        .withPooled(pool)
+        .of((plain, a, b) -> plain.id + "," + a.get().id + "," + b.get().id);
+
+    assertThat(result).isEqualTo(Try.success("1,2,3"));
+    assertThat(pool.idle()).isEqualTo(2);
+    assertThat(closed).hasValue(1);
+
+    pool.close();
+    assertThat(closed).hasValue(3);
+  }
+
+  @Test
+  void shouldDestroyResourcesThrowingOnValidation() {
+    ResourcePool<Connection> pool = ResourcePool.of("test", Connection::new, Connection::close, Connection::ping,
+        ResourcePool.Config.defaults().withMaxSize(1));
+
+    Try.withPooled(pool).ofConsumer(lease -> lease.get().valid = false);
+    Try<Integer> id = Try.withPooled(pool).of(lease -> lease.get().id);
+
+    assertThat(id).isEqualTo(Try.success(2));
+    assertThat(closed).hasValue(1);
+    assertThat(pool.leased()).isZero();
+    assertThat(pool.idle()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictIdleResourcesWithoutTraffic() throws InterruptedException {
+    ResourcePool<Connection> pool = pool(ResourcePool.Config.defaults().withMaxIdle(Duration.ofMillis(20)));
+    Try.withPooled(pool).ofConsumer(lease -> {
+    });
+    assertThat(pool.idle()).isEqualTo(1);
+
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (pool.idle() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertThat(pool.idle()).isZero();
+    assertThat(closed).hasValue(1);
+    pool.close();
+  }
+
+  @Test
+  void shouldSweepOffTheCommonPool() throws InterruptedException {
+    AtomicReference<Thread> destroyedOn = new AtomicReference<>();
+    ResourcePool<Connection> pool = ResourcePool.of("test", Connection::new, c -> destroyedOn.set(Thread.currentThread()),
+        c -> c.valid, ResourcePool.Config.defaults().withMaxIdle(Duration.ofMillis(20)));
+    Try.withPooled(pool).ofConsumer(lease -> {
+    });
+
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (destroyedOn.get() == null && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertThat(destroyedOn.get()).isNotNull().isNotInstanceOf(ForkJoinWorkerThread.class);
+    pool.close();
+  }
+
+  @Test
+  void shouldRejectNonPositiveMaxIdle() {
+    assertThatThrownBy(() -> ResourcePool.Config.defaults().withMaxIdle(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ResourcePool.Config.defaults().withMaxIdle(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,144 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.RetryPolicy.Jitter;
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class RetryTest {
+
+  RetryPolicy policy = RetryPolicy.of(3).withBackoff(Duration.ofMillis(1), 2.0, Duration.ofMillis(5));
+
+  Function0<String> failTimes(AtomicInteger calls, int failures) {
+    return () -> {
+      if (calls.incrementAndGet() <= failures) {
+        throw new IOException("failure " + calls.get());
+      }
+      return "success";
+    };
+  }
+
+  @Test
+  void shouldRetryUntilSuccess() {
+    var calls = new AtomicInteger();
+
+    Try<String> actual = Try.retry(failTimes(calls, 2), policy);
+
+    assertThat(actual.orElse("FAILURE")).isEqualTo("success");
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void shouldReturnLastFailureAfterMaxAttempts() {
+    var calls = new AtomicInteger();
+
+    Try<String> actual = Try.retry(failTimes(calls, 5), policy);
+
+    assertThat(((Failure<String>) actual).cause()).hasMessage("failure 3");
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void shouldNotRetryUnmatchedFailure() {
+    var calls = new AtomicInteger();
+
+    Try<String> actual = Try.retry(failTimes(calls, 5), policy.withRetryOn(t -> !(t instanceof IOException)));
+
+    assertThat(actual.isFailure()).isTrue();
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldStopRetryingWhenBudgetIsExhausted() {
+    var budget = RetryBudget.of(2, 0.001);
+    var calls = new AtomicInteger();
+
+    Try.retry(failTimes(calls, 10), RetryPolicy.of(10).withBackoff(Duration.ZERO, 1.0, Duration.ZERO)
+        .withBudget(budget));
+
+    assertThat(calls).hasValue(3);
+    assertThat(budget.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void shouldRetryAsynchronously() {
+    var calls = new AtomicInteger();
+
+    Try<String> actual = Try.retryAsync(failTimes(calls, 2), policy).toTry();
+
+    assertThat(actual.orElse("FAILURE")).isEqualTo("success");
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void shouldFailAsynchronouslyAfterMaxAttempts() {
+    var calls = new AtomicInteger();
+
+    Try<String> actual = Try.retryAsync(failTimes(calls, 5), policy).toTry();
+
+    assertThat(((Failure<String>) actual).cause()).hasMessage("failure 3");
+  }
+
+  @Test
+  void shouldFailAsynchronouslyWhenRetryOnThrows() throws Exception {
+    var calls = new AtomicInteger();
+    RetryPolicy throwing = policy.withRetryOn(t -> {
+      throw new IllegalStateException("retryOn");
+    });
+
+    CompletableFuture<String> actual = Try.retryAsync(failTimes(calls, 5), throwing)
+        .toCompletionStage().toCompletableFuture();
+
+    assertThatThrownBy(() -> actual.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .cause()
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("retryOn")
+        .satisfies(e -> assertThat(e.getSuppressed()).singleElement().isInstanceOf(IOException.class));
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void shouldFailWhenRetryOnThrows() {
+    RetryPolicy throwing = policy.withRetryOn(t -> {
+      throw new IllegalStateException("retryOn");
+    });
+
+    Try<String> actual = Try.retry(failTimes(new AtomicInteger(), 5), throwing);
+
+    assertThat(((Failure<String>) actual).cause()).hasMessage("retryOn");
+  }
+
+  @Test
+  void shouldRejectInvalidDelays() {
+    assertThatThrownBy(() -> RetryPolicy.of(3).withBackoff(Duration.ofMillis(-1), 2.0, Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.of(3).withBackoff(Duration.ofSeconds(2), 2.0, Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.of(3).withBackoff(Duration.ZERO, 2.0, Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldKeepDelaysWithinBounds() {
+    RetryPolicy backoff = RetryPolicy.of(10).withBackoff(Duration.ofNanos(100), 2.0, Duration.ofNanos(1_000));
+
+    assertThat(backoff.delayNanos(1, 0)).isEqualTo(100);
+    assertThat(backoff.delayNanos(3, 0)).isEqualTo(400);
+    assertThat(backoff.delayNanos(10, 0)).isEqualTo(1_000);
+    for (int attempt = 1; attempt < 10; attempt++) {
+      assertThat(backoff.withJitter(Jitter.FULL).delayNanos(attempt, 0)).isBetween(0L, 1_000L);
+      assertThat(backoff.withJitter(Jitter.DECORRELATED).delayNanos(attempt, 800)).isBetween(100L, 1_000L);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Either.Partition;
+
+public class StreamCollectorsTest {
+
+  Either<String, Integer> parse(int i) {
+    return i % 3 == 0 ? Either.failure("#" + i) : Either.success(i);
+  }
+
+  @Test
+  void shouldPartitionEithers() {
+    Partition<String, Integer> actual = Stream.of(1, 3, 4, 6).map(this::parse).collect(Either.partition());
+
+    assertThat(actual.failures()).containsExactly("#3", "#6");
+    assertThat(actual.successes()).containsExactly(1, 4);
+  }
+
+  @Test
+  void shouldPartitionEithersInParallelKeepingOrder() {
+    Partition<String, Integer> actual = IntStream.range(0, 100_000).parallel().boxed()
+        .map(this::parse)
+        .collect(Either.partition());
+
+    assertThat(actual.failures()).hasSize(33_334).startsWith("#0", "#3").endsWith("#99999");
+    assertThat(actual.successes()).hasSize(66_666).startsWith(1, 2, 4).endsWith(99_998);
+  }
+
+  @Test
+  void shouldCollectSuccesses() {
+    List<Integer> actual = Stream.of(1, 3, 4).map(this::parse).collect(Either.successes());
+
+    assertThat(actual).containsExactly(1, 4);
+  }
+
+  @Test
+  void shouldAccumulateFailures() {
+    Either<List<String>, List<Integer>> actual = Stream.of(1, 3, 4, 6).map(this::parse).collect(Either.accumulate());
+
+    assertThat(actual.isFailure()).isTrue();
+    assertThat(((Either.Failure<List<String>, List<Integer>>) actual).value()).containsExactly("#3", "#6");
+  }
+
+  @Test
+  void shouldAccumulateSuccesses() {
+    Either<List<String>, List<Integer>> actual = Stream.of(1, 2, 4).map(this::parse).collect(Either.accumulate());
+
+    assertThat(actual.getOrDefault(List.of())).containsExactly(1, 2, 4);
+  }
+
+  @Test
+  void shouldCollectTryList() {
+    Try<List<Integer>> actual = Stream.of("1", "2").map(s -> Try.of(() -> Integer.parseInt(s)))
+        .collect(Try.toTryList());
+
+    assertThat(actual.orElse(List.of())).containsExactly(1, 2);
+  }
+
+  @Test
+  void shouldCollectFirstFailureInEncounterOrderInParallel() {
+    Try<List<Integer>> actual = IntStream.range(0, 100_000).parallel()
+        .mapToObj(i -> i == 70_000 || i == 90_000
+            ? Try.<Integer>failure(new IllegalStateException("#" + i))
+            : Try.success(i))
+        .collect(Try.toTryList());
+
+    assertThat(actual).isInstanceOf(Try.Failure.class);
+    assertThat(((Try.Failure<List<Integer>>) actual).cause()).hasMessage("#70000");
+  }
+}
@@ -0,0 +1,91 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class TaskScopeTest {
+
+  AtomicInteger running = new AtomicInteger();
+
+  Function0<String> blocking() {
+    return () -> {
+      running.incrementAndGet();
+      try {
+        new CountDownLatch(1).await();
+      } finally {
+        running.decrementAndGet();
+      }
+      return "never";
+    };
+  }
+
+  @Test
+  void shouldCollectAllResultsInOrder() {
+    Try<List<Integer>> result = Try.all(() -> {
+      Thread.sleep(30);
+      return 1;
+    }, () -> 2, () -> 3);
+
+    assertThat(result).isEqualTo(Try.success(List.of(1, 2, 3)));
+    assertThat(Try.<Integer>all()).isEqualTo(Try.success(List.of()));
+  }
+
+  @Test
+  void shouldCancelSiblingsOnFirstFailure() {
+    Try<List<String>> result = Try.all(blocking(), () -> {
+      throw new IOException("down");
+    }, blocking());
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).isInstanceOf(IOException.class).hasMessage("down"));
+    assertThat(running).hasValue(0);
+  }
+
+  @Test
+  void shouldReturnFirstSuccess() {
+    Try<String> result = Try.any(() -> {
+      throw new IOException("replica 1");
+    }, blocking(), () -> "replica 3");
+
+    assertThat(result).isEqualTo(Try.success("replica 3"));
+    assertThat(running).hasValue(0);
+  }
+
+  @Test
+  void shouldFailIfNoTaskSucceeds() {
+    var first = new IOException("replica 1");
+    var second = new IOException("replica 2");
+    Try<String> result = Try.any(() -> {
+      throw first;
+    }, () -> {
+      throw second;
+    });
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class, f -> {
+      assertThat(f.cause()).isInstanceOf(AllFailedException.class).hasCause(first);
+      assertThat(((AllFailedException) f.cause()).causes()).containsExactly(first, second);
+      assertThat(f.cause().getSuppressed()).containsExactly(second);
+    });
+    assertThat(first.getSuppressed()).isEmpty();
+    assertThat(Try.any().isFailure()).isTrue();
+  }
+
+  @Test
+  void shouldReturnFirstCompletion() {
+    Try<String> result = Try.race(blocking(), () -> {
+      throw new IOException("fast failure");
+    });
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("fast failure"));
+    assertThat(running).hasValue(0);
+  }
+}
@@ -0,0 +1,102 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TracingTest {
+
+  RingBufferSpanSink sink = new RingBufferSpanSink(16);
+
+  @AfterEach
+  void uninstall() {
+    Tracing.uninstall();
+  }
+
+  @Test
+  void shouldNotTraceWhenUninstalled() {
+    Try<Integer> result = Try.of("load", () -> 1).map(Tracing.map("double", i -> i * 2));
+
+    assertThat(result).isEqualTo(Try.success(2));
+    assertThat(sink.spans()).isEmpty();
+  }
+
+  @Test
+  void shouldLinkNestedStages() {
+    Tracing.install(sink, Sampler.always());
+
+    Try<Integer> result = Try.of("request", () -> Try.of("load", () -> 1)
+        .flatMap(Tracing.flatMap("quote", i -> Try.of("pricing", () -> i + 1)))
+        .map(Tracing.map("render", i -> i * 10))
+        .orElse(-1));
+
+    assertThat(result).isEqualTo(Try.success(20));
+    List<Span> spans = sink.spans();
+    assertThat(spans).extracting(Span::name).containsExactly("load", "pricing", "quote", "render", "request");
+    Span request = spans.get(4);
+    assertThat(request.isRoot()).isTrue();
+    assertThat(spans).allSatisfy(span -> {
+      assertThat(span.traceId()).isEqualTo(request.traceId());
+      assertThat(span.isEnded()).isTrue();
+      assertThat(span.success()).isTrue();
+    });
+    assertThat(spans.get(0).parentId()).isEqualTo(request.spanId());
+    assertThat(spans.get(1).parentId()).isEqualTo(spans.get(2).spanId());
+    assertThat(spans.get(2).parentId()).isEqualTo(request.spanId());
+  }
+
+  @Test
+  void shouldMarkFailedSpans() {
+    Tracing.install(sink, Sampler.always());
+
+    Try.of("parse", () -> Integer.parseInt("x"));
+    Either.<String, Integer>success(1).flatMap(Tracing.flatMapEither("validate", i -> Either.failure("invalid")));
+
+    assertThat(sink.spans()).extracting(Span::success).containsExactly(false, false);
+  }
+
+  @Test
+  void shouldSampleWholeTraces() {
+    Tracing.install(sink, Sampler.ratio(0));
+
+    Try.of("request", () -> Try.of("load", () -> 1));
+
+    assertThat(sink.spans()).isEmpty();
+  }
+
+  @Test
+  void shouldPropagateAcrossThreads() {
+    Tracing.install(sink, Sampler.always());
+
+    Try.of("request", () -> Try.all(() -> Try.of("left", () -> 1), () -> Try.of("right", () -> 2))
+        .flatMap(l -> Try.of(() -> Try.of("timed", () -> 3), Duration.ofSeconds(5)))
+        .flatMap(t -> AsyncTry.of(() -> Try.of("async", () -> 4)).toTry()));
+
+    List<Span> spans = sink.spans();
+    Span request = spans.get(spans.size() - 1);
+    assertThat(spans).extracting(Span::name).containsOnly("left", "right", "timed", "async", "request");
+    assertThat(spans.subList(0, 4)).allSatisfy(span -> {
+      assertThat(span.traceId()).isEqualTo(request.traceId());
+      assertThat(span.parentId()).isEqualTo(request.spanId());
+    });
+  }
+
+  @Test
+  void shouldKeepLatestSpans() {
+    RingBufferSpanSink small = new RingBufferSpanSink(2);
+    Tracing.install(small, Sampler.always());
+
+    Try.of("a", () -> 1);
+    Try.of("b", () -> 1);
+    Try.of("c", () -> 1);
+
+    assertThat(small.spans()).extracting(Span::name).containsExactly("b", "c");
+    assertThat(small.trace(small.spans().get(0).traceId())).hasSize(1);
+    small.clear();
+    assertThat(small.spans()).isEmpty();
+  }
+}
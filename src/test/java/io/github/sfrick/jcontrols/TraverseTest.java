@@ -0,0 +1,89 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class TraverseTest {
+
+  List<String> numbers = IntStream.range(0, 10_000).mapToObj(Integer::toString).collect(Collectors.toList());
+
+  @Test
+  void shouldTraverseAllItemsInOrder() {
+    Try<List<Integer>> actual = Try.traverse(numbers, Integer::parseInt);
+
+    assertThat(actual.orElse(List.of())).hasSize(10_000).startsWith(0, 1, 2).endsWith(9_999);
+  }
+
+  @Test
+  void shouldStopTraversingAtFirstFailure() {
+    var calls = new AtomicInteger();
+
+    Try<List<Integer>> actual = Try.traverse(List.of("1", "x", "3"), s -> {
+      calls.incrementAndGet();
+      return Integer.parseInt(s);
+    });
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<List<Integer>>) actual).cause()).isInstanceOf(NumberFormatException.class);
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void shouldTraverseAllItemsInOrderInParallel() {
+    Try<List<Integer>> actual = Try.traverseParallel(numbers, Integer::parseInt);
+
+    assertThat(actual.orElse(List.of())).hasSize(10_000).startsWith(0, 1, 2).endsWith(9_999);
+  }
+
+  @Test
+  void shouldFailTraversingInParallel() {
+    var input = new ArrayList<>(numbers);
+    input.set(5_000, "x");
+
+    Try<List<Integer>> actual = Try.traverseParallel(input, Integer::parseInt);
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<List<Integer>>) actual).cause()).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void shouldTraverseEmptyCollection() {
+    assertThat(Try.traverseParallel(List.<String>of(), Integer::parseInt).orElse(List.of(-1))).isEmpty();
+  }
+
+  @Test
+  void shouldSequenceTries() {
+    Try<List<String>> actual = Try.sequence(List.of(Try.success("a"), Try.of(() -> "b")));
+
+    assertThat(actual.orElse(List.of())).containsExactly("a", "b");
+  }
+
+  @Test
+  void shouldReturnFirstFailureOfSequence() {
+    var ex = new RuntimeException("failure");
+
+    Try<List<String>> actual = Try.sequence(List.of(Try.success("a"), Try.failure(ex), Try.success("c")));
+
+    assertThat(((Failure<List<String>>) actual).cause()).isSameAs(ex);
+  }
+
+  @Test
+  void shouldSequenceLazyTriesInParallel() {
+    List<LazyTry<Integer>> tries = numbers.stream()
+        .map(s -> Try.lazy(() -> Integer.parseInt(s)))
+        .collect(Collectors.toList());
+
+    Try<List<Integer>> actual = Try.sequenceParallel(tries);
+
+    assertThat(actual.orElse(List.of())).hasSize(10_000).endsWith(9_999);
+  }
+}
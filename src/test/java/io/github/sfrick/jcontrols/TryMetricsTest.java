@@ -0,0 +1,86 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.InMemoryTryMetrics.Histogram;
+import io.github.sfrick.jcontrols.InMemoryTryMetrics.Series;
+
+public class TryMetricsTest {
+
+  InMemoryTryMetrics metrics = new InMemoryTryMetrics();
+
+  @AfterEach
+  void uninstall() {
+    TryMetrics.uninstall();
+  }
+
+  @Test
+  void shouldNotRecordWithoutInstalledMetrics() {
+    assertThat(Try.of("users.load", () -> 1)).isEqualTo(Try.success(1));
+    assertThat(metrics.snapshot()).isEmpty();
+  }
+
+  @Test
+  void shouldCountOutcomesByName() {
+    TryMetrics.install(metrics);
+
+    Try.of("users.load", () -> 1);
+    Try.of("users.load", () -> 2);
+    Try.of("users.load", () -> {
+      throw new IOException("down");
+    });
+    Try.of("users.save", () -> Integer.parseInt("x"));
+
+    Map<String, Series> snapshot = metrics.snapshot();
+    assertThat(snapshot).containsOnlyKeys("users.load", "users.save");
+    assertThat(snapshot.get("users.load").successes()).isEqualTo(2);
+    assertThat(snapshot.get("users.load").failures()).containsExactly(Map.entry("java.io.IOException", 1L));
+    assertThat(snapshot.get("users.load").latency().count()).isEqualTo(3);
+    assertThat(snapshot.get("users.save").failureCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldBucketLatenciesLogarithmically() {
+    for (long nanos : new long[] { 0, 1, 3, 4, 7, 8, 1_000, 1_000_000, Long.MAX_VALUE }) {
+      int bucket = InMemoryTryMetrics.bucket(nanos);
+      assertThat(Histogram.upperBound(bucket)).isGreaterThanOrEqualTo(nanos);
+      assertThat(bucket == 0 || Histogram.upperBound(bucket - 1) < nanos).isTrue();
+      assertThat(bucket).isLessThan(InMemoryTryMetrics.BUCKETS);
+    }
+    assertThat(Histogram.upperBound(InMemoryTryMetrics.bucket(1_000))).isLessThanOrEqualTo(1_250);
+  }
+
+  @Test
+  void shouldComputePercentiles() {
+    for (int i = 1; i <= 100; i++) {
+      metrics.onSuccess("call", i * 1_000L);
+    }
+
+    Histogram latency = metrics.snapshot().get("call").latency();
+    assertThat(latency.percentile(50)).isBetween(50_000L, 62_500L);
+    assertThat(latency.percentile(100)).isEqualTo(100_000L);
+    assertThat(latency.max()).isEqualTo(100_000L);
+    assertThat(latency.sum()).isEqualTo(5_050_000L);
+  }
+
+  @Test
+  void shouldExportPrometheusText() {
+    metrics.onSuccess("users.load", 2_000_000);
+    metrics.onFailure("users.load", 1_000_000, new IOException());
+
+    assertThat(metrics.export())
+        .contains("try_calls_total{name=\"users.load\",outcome=\"success\"} 1\n")
+        .contains("try_calls_total{name=\"users.load\",outcome=\"failure\",exception=\"java.io.IOException\"} 1\n")
+        .contains("try_latency_seconds_count{name=\"users.load\"} 2\n")
+        .contains("try_latency_seconds_sum{name=\"users.load\"} 0.003\n");
+
+    metrics.reset();
+    assertThat(metrics.snapshot()).isEmpty();
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class TryPipelineTest {
+
+  TryPipeline<String, Integer> parse = Try.<String>pipeline()
+      .map(String::trim)
+      .map(Integer::parseInt)
+      .filter(i -> i > 0, "must be positive");
+
+  @Test
+  void shouldApplyAllStages() {
+    Try<Integer> actual = parse.apply(" 42 ");
+
+    assertThat(actual.orElse(-1)).isEqualTo(42);
+  }
+
+  @Test
+  void shouldBeReusable() {
+    assertThat(parse.apply("1").orElse(-1)).isEqualTo(1);
+    assertThat(parse.apply("2").orElse(-1)).isEqualTo(2);
+  }
+
+  @Test
+  void shouldCaptureThrowingStage() {
+    Try<Integer> actual = parse.apply("not a number");
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<Integer>) actual).cause()).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  void shouldFailOnFilter() {
+    Try<Integer> actual = parse.apply("-1");
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<Integer>) actual).cause()).hasMessage("must be positive");
+  }
+
+  @Test
+  void shouldStopAtFailingFlatMap() {
+    var ex = new RuntimeException("failure");
+    TryPipeline<String, String> pipeline = Try.<String>pipeline()
+        .flatMap(s -> Try.<String>failure(ex))
+        .map(String::toUpperCase);
+
+    Try<String> actual = pipeline.apply("success");
+
+    assertThat(((Failure<String>) actual).cause()).isSameAs(ex);
+  }
+
+  @Test
+  void shouldNotApplyStagesToFailure() {
+    var ex = new RuntimeException("failure");
+
+    Try<Integer> actual = parse.apply(Try.failure(ex));
+
+    assertThat(((Failure<Integer>) actual).cause()).isSameAs(ex);
+  }
+
+  @Test
+  void shouldBehaveLikeChainedTry() {
+    Try<Integer> chained = Try.success(" 42 ")
+        .map(String::trim)
+        .map(Integer::parseInt)
+        .filter(i -> i > 0, "must be positive");
+
+    assertThat(parse.apply(" 42 ")).isEqualTo(chained);
+  }
+}
@@ -2,6 +2,8 @@ package io.github.sfrick.jcontrols;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 
 import io.github.sfrick.jcontrols.Try.Failure;
@@ -501,4 +503,75 @@ public class TryTest {
 
     assertThat(origin.or(anotherTry).orElse("default")).isEqualTo("success");
   }
+
+  @Test
+  void shouldReturnStacklessFailure() {
+    Try<String> actual = Try.failureLite("invalid");
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    Throwable cause = ((Failure<String>) actual).cause();
+    assertThat(cause).isInstanceOf(StacklessException.class).hasMessage("invalid");
+    assertThat(cause.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void shouldInternStacklessFailures() {
+    Throwable first = ((Failure<String>) Try.<String>failureLite("invalid")).cause();
+    Throwable second = ((Failure<String>) Try.<String>failureLite("invalid")).cause();
+
+    assertThat(first).isSameAs(second);
+  }
+
+  @Test
+  void failingPredicateWithMessageShouldReturnStacklessFailure() {
+    Try<String> origin = Try.success("success");
+
+    Try<String> actual = origin.filter(String::isEmpty, "must be empty");
+
+    assertThat(actual).isInstanceOf(Failure.class);
+    assertThat(((Failure<String>) actual).cause()).isInstanceOf(StacklessException.class).hasMessage("must be empty");
+  }
+
+  @Test
+  void succeedingPredicateWithMessageShouldReturnSameSuccess() {
+    Try<String> origin = Try.success("success");
+
+    Try<String> actual = origin.filter(s -> !s.isEmpty(), "must not be empty");
+
+    assertThat(actual).isSameAs(origin);
+  }
+
+  @Test
+  void shouldShareUnitSuccess() {
+    Try<Void> first = Try.ofRunnable(this::runnable);
+    Try<Void> second = Try.ofRunnable(this::runnable);
+
+    assertThat(first).isSameAs(second).isSameAs(Try.success(null));
+  }
+
+  @Test
+  @SuppressWarnings({ "resource" })
+  void shouldShareUnitSuccessOfConsumer() {
+    var spy = new ResourceDummy();
+
+    Try<Void> actual = Try.withResource(() -> spy).ofConsumer(r -> consumer0ReturnsSuccess());
+
+    assertThat(actual).isSameAs(Try.ofRunnable(this::runnable));
+  }
+
+  @Test
+  void shouldShareBooleanAndSmallIntSuccesses() {
+    assertThat(Try.success(true)).isSameAs(Try.of(() -> true));
+    assertThat(Try.success(false)).isSameAs(Try.success(false));
+    assertThat(Try.success(127)).isSameAs(Try.success(100).map(i -> i + 27));
+    assertThat(Try.success(128)).isNotSameAs(Try.success(128));
+  }
+
+  @Test
+  void shouldShareEmptyOptionalFailure() {
+    Try<String> actual = Try.fromOptional(Optional.empty());
+
+    assertThat(actual).isInstanceOf(Failure.class).isSameAs(Try.fromOptional(Optional.empty()));
+    assertThat(Try.fromOptional(Optional.of("success")).orElse("FAILURE")).isEqualTo("success");
+  }
 }
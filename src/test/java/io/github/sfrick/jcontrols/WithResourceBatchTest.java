@@ -0,0 +1,176 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class WithResourceBatchTest {
+
+  AtomicInteger opened = new AtomicInteger();
+  AtomicInteger closed = new AtomicInteger();
+
+  class Resource implements AutoCloseable {
+    final int id = opened.incrementAndGet();
+    boolean failOnClose;
+
+    @Override
+    public void close() throws IOException {
+      closed.incrementAndGet();
+      if (failOnClose) {
+        throw new IOException("close " + id);
+      }
+    }
+  }
+
+  int parse(String item) {
+    return Integer.parseInt(item);
+  }
+
+  @Test
+  void shouldOpenResourcesOnceForAllItems() {
+    Try<List<Integer>> result = Try.withResource(Resource::new)
+        .withResource(Resource::new)
+        .ofAll(List.of("1", "2", "3"), (r1, r2, item) -> r1.id + r2.id + parse(item));
+
+    assertThat(result).isEqualTo(Try.success(List.of(4, 5, 6)));
+    assertThat(opened).hasValue(2);
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void shouldFailAllOnFirstFailingItem() {
+    AtomicInteger calls = new AtomicInteger();
+
+    Try<List<Integer>> result = Try.withResource(Resource::new)
+        .ofAll(List.of("1", "x", "3"), (r, item) -> calls.incrementAndGet() + parse(item));
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).isInstanceOf(NumberFormatException.class));
+    assertThat(calls).hasValue(2);
+    assertThat(closed).hasValue(1);
+  }
+
+  @Test
+  void shouldReturnResultPerItem() {
+    List<Try<Integer>> results = Try.withResource(Resource::new)
+        .ofEach(List.of("1", "x", "3"), (r, item) -> r.id * 10 + parse(item));
+
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0)).isEqualTo(Try.success(11));
+    assertThat(results.get(1).isFailure()).isTrue();
+    assertThat(results.get(2)).isEqualTo(Try.success(13));
+    assertThat(results.stream().collect(Try.toTryList()).isFailure()).isTrue();
+    assertThat(opened).hasValue(1);
+  }
+
+  @Test
+  void shouldReopenPoisonedResources() {
+    List<Try<Integer>> results = Try.withResource(Resource::new)
+        .ofEach(List.of("1", "x", "3"), (r, item) -> r.id * 10 + parse(item),
+            cause -> cause instanceof NumberFormatException);
+
+    assertThat(results.get(0)).isEqualTo(Try.success(11));
+    assertThat(results.get(2)).isEqualTo(Try.success(23));
+    assertThat(opened).hasValue(2);
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void shouldReportCloseFailureOnLastItem() {
+    List<Try<Integer>> results = Try.withResource(() -> {
+      Resource resource = new Resource();
+      resource.failOnClose = true;
+      return resource;
+    }).ofEach(List.of("1", "2"), (r, item) -> parse(item));
+
+    assertThat(results.get(0)).isEqualTo(Try.success(1));
+    assertThat(results.get(1)).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("close 1"));
+  }
+
+  @Test
+  void shouldFailRemainingItemsIfOpeningFails() {
+    List<Try<Integer>> results = Try.withResource(Resource::new)
+        .withResource((Function0<Resource>) () -> {
+          throw new IOException("unavailable");
+        })
+        .ofEach(List.of("1", "2"), (r1, r2, item) -> parse(item));
+
+    assertThat(results).allSatisfy(result -> assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("unavailable")));
+    assertThat(opened).hasValue(1);
+    assertThat(closed).hasValue(1);
+  }
+
+  @Test
+  void shouldStreamItemsLazily() {
+    List<Try<Integer>> results;
+    try (Stream<Try<Integer>> stream = Try.withResource(Resource::new)
+        .ofStream(Stream.of("1", "2"), (r, item) -> parse(item), cause -> false)) {
+      assertThat(opened).hasValue(0);
+      results = stream.collect(Collectors.toList());
+      assertThat(closed).hasValue(0);
+    }
+
+    assertThat(results).containsExactly(Try.success(1), Try.success(2));
+    assertThat(closed).hasValue(1);
+  }
+
+  @Test
+  void shouldRethrowCloseFailureOnStreamClose() {
+    Stream<Try<Integer>> stream = Try.withResource(() -> {
+      Resource resource = new Resource();
+      resource.failOnClose = true;
+      return resource;
+    }).ofStream(Stream.of("1"), (r, item) -> parse(item), cause -> false);
+
+    assertThat(stream.collect(Collectors.toList())).containsExactly(Try.success(1));
+    assertThatThrownBy(stream::close).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  void shouldStreamWithoutPoisons() {
+    try (Stream<Try<Integer>> stream = Try.withResource(Resource::new)
+        .ofStream(Stream.of("1", "x", "3"), (r, item) -> parse(item))) {
+      assertThat(stream.map(Try::isSuccess)).containsExactly(true, false, true);
+    }
+
+    assertThat(opened).hasValue(1);
+    assertThat(closed).hasValue(1);
+  }
+
+  @Test
+  void shouldRejectParallelStreams() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try (Stream<Try<Integer>> stream = Try.withResource(Resource::new)
+        .ofStream(IntStream.range(0, 64).boxed(), (r, item) -> {
+          Thread.sleep(5);
+          return item;
+        })) {
+      Future<List<Try<Integer>>> results = pool.submit(() -> stream.parallel().collect(Collectors.toList()));
+
+      assertThatThrownBy(() -> results.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+    } finally {
+      pool.shutdown();
+    }
+    assertThat(opened).hasValue(1);
+    assertThat(closed).hasValue(1);
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class WithResourceConcurrentTest {
+
+  AtomicInteger opened = new AtomicInteger();
+  AtomicInteger closed = new AtomicInteger();
+
+  class Resource implements AutoCloseable {
+    final int id = opened.incrementAndGet();
+    CountDownLatch closing;
+    String closeFailure;
+
+    @Override
+    public void close() throws Exception {
+      if (closing != null) {
+        closing.await();
+      }
+      closed.incrementAndGet();
+      if (closeFailure != null) {
+        throw new IOException(closeFailure);
+      }
+    }
+  }
+
+  @Test
+  void shouldOpenResourcesConcurrently() {
+    CountDownLatch handshakes = new CountDownLatch(2);
+    Function0<Resource> handshake = () -> {
+      handshakes.countDown();
+      if (!handshakes.await(5, TimeUnit.SECONDS)) {
+        throw new IOException("opened sequentially");
+      }
+      return new Resource();
+    };
+
+    Try<Integer> result = Try.withResource(handshake)
+        .withResource(handshake)
+        .ofConcurrent((r1, r2) -> r1.id + r2.id);
+
+    assertThat(result).isEqualTo(Try.success(3));
+    assertThat(closed).hasValue(2);
+  }
+
+  @Test
+  void shouldCloseOpenedResourcesOnPartialFailure() {
+    Try<String> result = Try.withResource(Resource::new)
+        .withResource((Function0<Resource>) () -> {
+          throw new IOException("handshake failed");
+        })
+        .withResource(() -> {
+          Thread.sleep(10_000);
+          return new Resource();
+        })
+        .ofConcurrent((r1, r2, r3) -> "never");
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("handshake failed"));
+    assertThat(closed).hasValue(opened.get());
+  }
+
+  @Test
+  void shouldSuppressCloseExceptions() {
+    Try<String> result = Try.withResource(() -> {
+      Resource resource = new Resource();
+      resource.closeFailure = "close";
+      return resource;
+    }).withResource(Resource::new).ofConcurrent((r1, r2) -> {
+      throw new IllegalStateException("work");
+    });
+    Try<String> closeOnly = Try.withResource(() -> {
+      Resource resource = new Resource();
+      resource.closeFailure = "close";
+      return resource;
+    }).withResource(Resource::new).ofConcurrent((r1, r2) -> "done");
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class, f -> {
+      assertThat(f.cause()).hasMessage("work");
+      assertThat(f.cause().getSuppressed()).extracting(Throwable::getMessage).containsExactly("close");
+    });
+    assertThat(closeOnly).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("close"));
+  }
+
+  @Test
+  void shouldCloseAsynchronously() throws Exception {
+    CountDownLatch closing = new CountDownLatch(1);
+    CompletableFuture<Throwable> closeFailure = new CompletableFuture<>();
+
+    Try<Integer> result = Try.withResource(() -> {
+      Resource resource = new Resource();
+      resource.closing = closing;
+      resource.closeFailure = "slow close";
+      return resource;
+    }).withResource(Resource::new).ofConcurrent((r1, r2) -> r1.id + r2.id, closeFailure::complete);
+
+    assertThat(result).isEqualTo(Try.success(3));
+    assertThat(closed.get()).isLessThan(2);
+    closing.countDown();
+    assertThat(closeFailure.get(5, TimeUnit.SECONDS)).hasMessage("slow close");
+    assertThat(closed).hasValue(2);
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.sfrick.jcontrols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.sfrick.jcontrols.Try.Failure;
+
+public class ZipTest {
+
+  AtomicInteger running = new AtomicInteger();
+
+  <A> A block() throws InterruptedException {
+    running.incrementAndGet();
+    try {
+      new CountDownLatch(1).await();
+    } finally {
+      running.decrementAndGet();
+    }
+    return null;
+  }
+
+  @Test
+  void shouldZipTriesConcurrently() {
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    Function0<Integer> waitForOther = () -> {
+      bothRunning.countDown();
+      bothRunning.await();
+      return 1;
+    };
+
+    assertThat(Try.zip(waitForOther, waitForOther, Integer::sum)).isEqualTo(Try.success(2));
+    assertThat(Try.zip(() -> "a", () -> 1, () -> 2.0, () -> 'c', () -> true,
+        (a, b, c, d, e) -> a + b + c + d + e)).isEqualTo(Try.success("a12.0ctrue"));
+  }
+
+  @Test
+  void shouldCancelTryInputsOnFirstFailure() {
+    Try<String> result = Try.zip(this::<String>block, () -> {
+      throw new IOException("down");
+    }, this::<String>block, (a, b, c) -> a + b + c);
+
+    assertThat(result).isInstanceOfSatisfying(Failure.class,
+        f -> assertThat(f.cause()).hasMessage("down"));
+    assertThat(running).hasValue(0);
+  }
+
+  @Test
+  void shouldFailIfCombinerThrows() {
+    Try<Integer> result = Try.zip(() -> "1", () -> "x", (a, b) -> Integer.parseInt(a + b));
+
+    assertThat(result.isFailure()).isTrue();
+  }
+
+  @Test
+  void shouldZipEithers() {
+    Either<String, Integer> result = Either.zip(() -> Either.success(1), () -> Either.success(2),
+        () -> Either.success(3), () -> Either.success(4), (a, b, c, d) -> a + b + c + d);
+
+    assertThat(result).isEqualTo(Either.success(10));
+  }
+
+  @Test
+  void shouldCancelEitherInputsOnFirstFailure() {
+    Either<String, String> result = Either.zip(() -> {
+      try {
+        return Either.success(block());
+      } catch (InterruptedException e) {
+        return Either.failure("interrupted");
+      }
+    }, () -> Either.failure("not found"), (String a, String b) -> a + b);
+
+    assertThat(result).isEqualTo(Either.failure("not found"));
+    assertThat(running).hasValue(0);
+  }
+
+  @Test
+  void shouldAccumulateEitherFailures() {
+    Either<List<String>, Integer> failed = Either.zipAccumulating(() -> Either.failure("no name"),
+        () -> Either.success(1), () -> Either.failure("no age"), (a, b, c) -> b);
+    Either<List<String>, Integer> succeeded = Either.zipAccumulating(() -> Either.success(1),
+        () -> Either.success(2), (Integer a, Integer b) -> a + b);
+
+    assertThat(failed).isEqualTo(Either.failure(List.of("no name", "no age")));
+    assertThat(succeeded).isEqualTo(Either.success(3));
+  }
+
+  @Test
+  void shouldRethrowExceptionsOfEitherCombiner() {
+    assertThatThrownBy(() -> Either.zip(() -> Either.success("x"), () -> Either.success(1),
+        (String a, Integer b) -> Integer.parseInt(a) + b)).isInstanceOf(NumberFormatException.class);
+  }
+}